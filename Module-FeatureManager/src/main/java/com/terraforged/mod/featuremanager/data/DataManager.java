@@ -34,9 +34,17 @@ import net.minecraftforge.registries.IForgeRegistry;
 import net.minecraftforge.registries.IForgeRegistryEntry;
 
 import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiConsumer;
 import java.util.function.Predicate;
 
@@ -46,8 +54,11 @@ public class DataManager implements AutoCloseable {
     public static final Predicate<String> NBT = s -> s.endsWith(".nbt");
     public static final Predicate<String> JSON = s -> s.endsWith(".json");
 
+    private static final int POOL_SIZE = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1));
+
     private final ResourcePackList packList;
     private final IResourceManager resourceManager;
+    private ExecutorService executor = null;
 
     public DataManager(IResourceManager resourceManager, ResourcePackList packList) {
         this.resourceManager = resourceManager;
@@ -55,8 +66,12 @@ public class DataManager implements AutoCloseable {
     }
 
     @Override
-    public void close() {
+    public synchronized void close() {
         packList.close();
+        if (executor != null) {
+            executor.shutdown();
+            executor = null;
+        }
     }
 
     public IResource getResource(ResourceLocation location) throws IOException {
@@ -80,6 +95,109 @@ public class DataManager implements AutoCloseable {
         }
     }
 
+    public List<ResourceLocation> list(String path, Predicate<String> matcher) {
+        FeatureManager.LOG.debug("Input path: {}", path);
+        return new ArrayList<>(resourceManager.getAllResourceLocations(path, matcher));
+    }
+
+    public byte[] read(ResourceLocation location) throws IOException {
+        try (IResource resource = getResource(location); InputStream inputStream = resource.getInputStream()) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(8192);
+            byte[] buffer = new byte[8192];
+            for (int read = inputStream.read(buffer); read != -1; read = inputStream.read(buffer)) {
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        }
+    }
+
+    /**
+     * Reads and decodes each matching resource on the loader pool, then visits the results on the calling thread in
+     * the order the resources were listed.
+     */
+    public <T> void forEachParallel(String path, Predicate<String> matcher, ResourceDecoder<T> decoder, ResourceVisitor<T> consumer) {
+        List<ResourceLocation> locations = list(path, matcher);
+        List<Callable<T>> tasks = new ArrayList<>(locations.size());
+        for (ResourceLocation location : locations) {
+            tasks.add(() -> decoder.decode(location, read(location)));
+        }
+
+        List<T> results = invokeAll(tasks);
+        for (int i = 0; i < locations.size(); i++) {
+            T result = results.get(i);
+            if (result == null) {
+                continue;
+            }
+            ResourceLocation location = locations.get(i);
+            FeatureManager.LOG.debug(" Location: {}", location);
+            try {
+                consumer.accept(location, result);
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Runs the tasks on the loader pool and returns their results in the same order as the tasks. Tasks that fail
+     * with an IOException produce a null result, while unchecked exceptions are rethrown on the calling thread.
+     */
+    public <T> List<T> invokeAll(List<Callable<T>> tasks) {
+        List<T> results = new ArrayList<>(tasks.size());
+        if (tasks.size() < 2) {
+            for (Callable<T> task : tasks) {
+                try {
+                    results.add(task.call());
+                } catch (IOException e) {
+                    e.printStackTrace();
+                    results.add(null);
+                } catch (RuntimeException e) {
+                    throw e;
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+            }
+            return results;
+        }
+
+        try {
+            for (Future<T> future : getExecutor().invokeAll(tasks)) {
+                try {
+                    results.add(future.get());
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    if (cause instanceof IOException) {
+                        cause.printStackTrace();
+                        results.add(null);
+                    } else if (cause instanceof RuntimeException) {
+                        throw (RuntimeException) cause;
+                    } else if (cause instanceof Error) {
+                        throw (Error) cause;
+                    } else {
+                        throw new RuntimeException(cause);
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+
+        return results;
+    }
+
+    private synchronized ExecutorService getExecutor() {
+        if (executor == null) {
+            AtomicInteger counter = new AtomicInteger();
+            executor = Executors.newFixedThreadPool(POOL_SIZE, task -> {
+                Thread thread = new Thread(task, "TF-DataLoader-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return executor;
+    }
+
     public <T extends IForgeRegistryEntry<T>> void forEachTag(String type, List<ITag.INamedTag<T>> tags, IForgeRegistry<T> registry, BiConsumer<ITag<T>, Set<T>> setter) {
         JsonParser parser = new JsonParser();
         String tagPath = "tags/" + type + "/";
@@ -110,12 +228,10 @@ public class DataManager implements AutoCloseable {
     }
 
     public void forEachJson(String path, ResourceVisitor<JsonElement> consumer) {
-        JsonParser parser = new JsonParser();
-        forEach(path, DataManager.JSON, (location, data) -> {
-            Reader reader = new BufferedReader(new InputStreamReader(data));
-            JsonElement element = parser.parse(reader);
-            consumer.accept(location, element);
-        });
+        forEachParallel(path, DataManager.JSON, (location, data) -> {
+            Reader reader = new InputStreamReader(new ByteArrayInputStream(data), StandardCharsets.UTF_8);
+            return new JsonParser().parse(reader);
+        }, consumer);
     }
 
     public static DataManager of(File dir) {
@@ -24,8 +24,12 @@
 
 package com.terraforged.mod.featuremanager.template.buffer;
 
-import java.util.BitSet;
+import java.util.Arrays;
 
+/**
+ * A reusable 3D bit mask over a bounding box. The backing array only grows, and clearing only zeroes the range of
+ * words that were written to since the last clear.
+ */
 public class BufferBitSet {
 
     private int minX;
@@ -34,50 +38,76 @@ public class BufferBitSet {
     private int sizeX;
     private int sizeY;
     private int sizeZ;
-    private int sizeXZ;
-    private BitSet bitSet;
+    private long[] words = new long[0];
+    private int dirtyMin = Integer.MAX_VALUE;
+    private int dirtyMax = -1;
 
     public void set(int x1, int y1, int z1, int x2, int y2, int z2) {
+        clear();
         this.minX = Math.min(x1, x2);
         this.minY = Math.min(y1, y2);
         this.minZ = Math.min(z1, z2);
-        this.sizeX = Math.max(x1, x2) - minX;
-        this.sizeY = Math.max(y1, y2) - minY;
-        this.sizeZ = Math.max(z1, z2) - minZ;
-        this.sizeXZ = sizeX * sizeZ;
-        int size = sizeX * sizeY * sizeZ;
-        if (bitSet == null || bitSet.length() < size) {
-            bitSet = new BitSet(size);
-        } else {
-            bitSet.clear();
+        this.sizeX = Math.max(x1, x2) - minX + 1;
+        this.sizeY = Math.max(y1, y2) - minY + 1;
+        this.sizeZ = Math.max(z1, z2) - minZ + 1;
+
+        int wordCount = ((sizeX * sizeY * sizeZ) + 63) >>> 6;
+        if (words.length < wordCount) {
+            words = new long[Math.max(wordCount, words.length * 2)];
         }
     }
 
     public void clear() {
-        if (bitSet != null) {
-            bitSet.clear();
+        if (dirtyMax >= dirtyMin) {
+            Arrays.fill(words, dirtyMin, dirtyMax + 1, 0L);
         }
+        dirtyMin = Integer.MAX_VALUE;
+        dirtyMax = -1;
     }
 
     public void set(int x, int y, int z) {
-        int index = indexOf(x - minX, y - minY, z - minZ);
-        bitSet.set(index);
+        int index = indexOf(x, y, z);
+        if (index != -1) {
+            int word = index >>> 6;
+            words[word] |= 1L << index;
+            dirtyMin = Math.min(dirtyMin, word);
+            dirtyMax = Math.max(dirtyMax, word);
+        }
     }
 
     public void unset(int x, int y, int z) {
-        int index = indexOf(x - minX, y - minY, z - minZ);
-        bitSet.set(index, false);
+        int index = indexOf(x, y, z);
+        if (index != -1) {
+            words[index >>> 6] &= ~(1L << index);
+        }
     }
 
     public boolean test(int x, int y, int z) {
-        int index = indexOf(x - minX, y - minY, z - minZ);
-        if (index < 0 || index >= bitSet.length()) {
-            return false;
+        int index = indexOf(x, y, z);
+        return index != -1 && get(index);
+    }
+
+    /**
+     * Tests the bit at an index previously obtained from {@link #index} for the current bounds
+     */
+    public boolean get(int index) {
+        return (words[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * @return the bit index of the given coordinates, or -1 if they lie outside the bounds
+     */
+    public int indexOf(int x, int y, int z) {
+        int dx = x - minX;
+        int dy = y - minY;
+        int dz = z - minZ;
+        if (dx < 0 || dx >= sizeX || dy < 0 || dy >= sizeY || dz < 0 || dz >= sizeZ) {
+            return -1;
         }
-        return bitSet.get(index);
+        return index(dx, dy, dz, sizeX, sizeZ);
     }
 
-    private int indexOf(int x, int y, int z) {
-        return (y * sizeXZ) + (z * sizeX) + x;
+    public static int index(int dx, int dy, int dz, int sizeX, int sizeZ) {
+        return ((dy * sizeZ) + dz) * sizeX + dx;
     }
 }
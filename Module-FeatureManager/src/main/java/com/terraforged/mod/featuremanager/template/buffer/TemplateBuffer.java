@@ -26,74 +26,47 @@ package com.terraforged.mod.featuremanager.template.buffer;
 
 import com.terraforged.mod.featuremanager.template.feature.Placement;
 import com.terraforged.mod.featuremanager.template.paste.PasteConfig;
-import com.terraforged.mod.featuremanager.template.template.BlockInfo;
-import com.terraforged.noise.util.NoiseUtil;
+import com.terraforged.mod.featuremanager.template.template.TemplateBlocks;
+import com.terraforged.mod.featuremanager.template.template.TemplateOcclusion;
 import net.minecraft.block.Blocks;
 import net.minecraft.util.math.BlockPos;
-import net.minecraft.util.math.vector.Vector3i;
 import net.minecraft.world.IWorld;
 
 public class TemplateBuffer extends PasteBuffer {
 
     private IWorld world;
-    private BlockPos origin;
+    private TemplateOcclusion occlusion;
     private final BufferBitSet placementMask = new BufferBitSet();
 
     public TemplateBuffer() {
         setRecording(true);
     }
 
-    public TemplateBuffer init(IWorld world, BlockPos origin, Vector3i p1, Vector3i p2) {
+    public TemplateBuffer init(IWorld world, TemplateOcclusion occlusion) {
         super.clear();
-        this.placementMask.clear();
         this.world = world;
-        this.origin = origin;
-        this.placementMask.set(p1.getX(), p1.getY(), p1.getZ(), p2.getX(), p2.getY(), p2.getZ());
+        this.occlusion = occlusion;
+        this.placementMask.set(occlusion.minX, occlusion.minY, occlusion.minZ, occlusion.maxX, occlusion.maxY, occlusion.maxZ);
         return this;
     }
 
-    public void record(int i, BlockInfo block, BlockPos pastePos, Placement placement, PasteConfig config) {
+    public void record(int i, TemplateBlocks blocks, BlockPos pastePos, Placement placement, PasteConfig config) {
         if (!config.replaceSolid && !placement.canReplaceAt(world, pastePos)) {
-            placementMask.set(block.pos.getX(), block.pos.getY(), block.pos.getZ());
+            placementMask.set(blocks.getX(i), blocks.getY(i), blocks.getZ(i));
             return;
         }
 
-        if (!config.pasteAir && block.state.getBlock() == Blocks.AIR) {
+        if (!config.pasteAir && blocks.getState(i).getBlock() == Blocks.AIR) {
             return;
         }
 
         record(i);
     }
 
-    public boolean test(BlockPos pos) {
-        int dx = pos.getX() - origin.getX();
-        int dz = pos.getZ() - origin.getZ();
-        if (dx == dz) {
-            return test(pos, 1, 1);
-        }
-        if (Math.abs(dx) > Math.abs(dz)) {
-            return test(pos, 1F, dz / (float) dx);
-        } else {
-            return test(pos, dx / (float) dz, 1F);
-        }
-    }
-
-    private boolean test(BlockPos start, float dx, float dz) {
-        int x = start.getX();
-        int z = start.getZ();
-        float px = x;
-        float pz = z;
-        int count = 0;
-        while (x != origin.getX() && z != origin.getZ() && count < 10) {
-            if (placementMask.test(x, start.getY(), z)) {
-                return false;
-            }
-            px -= dx;
-            pz -= dz;
-            x = NoiseUtil.floor(px);
-            z = NoiseUtil.floor(pz);
-            count++;
-        }
-        return true;
+    /**
+     * @return true if no blocked positions lie between the i'th block and the template's origin column
+     */
+    public boolean test(int i) {
+        return occlusion.isClear(i, placementMask);
     }
 }
@@ -27,16 +27,17 @@ package com.terraforged.mod.featuremanager.template.template;
 import net.minecraft.util.Mirror;
 import net.minecraft.util.Rotation;
 
-import java.util.stream.Stream;
+public class BakedTemplate extends BakedTransform<TemplateBlocks> {
 
-public class BakedTemplate extends BakedTransform<BlockInfo[]> {
-
-    public BakedTemplate(BlockInfo[] value) {
-        super(BlockInfo[][]::new, value);
+    public BakedTemplate(TemplateBlocks value) {
+        super(TemplateBlocks[]::new, value);
     }
 
     @Override
-    protected BlockInfo[] apply(Mirror mirror, Rotation rotation, BlockInfo[] value) {
-        return Stream.of(value).map(block -> block.transform(mirror, rotation)).toArray(BlockInfo[]::new);
+    protected TemplateBlocks apply(Mirror mirror, Rotation rotation, TemplateBlocks value) {
+        if (mirror == Mirror.NONE && rotation == Rotation.NONE) {
+            return value.sorted();
+        }
+        return value.transform(mirror, rotation).sorted();
     }
 }
@@ -0,0 +1,196 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 TerraForged
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.terraforged.mod.featuremanager.template.template;
+
+import com.terraforged.mod.featuremanager.FeatureManager;
+import com.terraforged.mod.featuremanager.template.buffer.BufferIterator;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.minecraft.block.AbstractBlock;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.util.Direction;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.IWorld;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Runs the post-paste shape update (fences/walls connecting, leaves distances etc) over the blocks placed by a
+ * template paste.
+ *
+ * Each face between two placed blocks is visited once rather than once from each side, states are read through a
+ * local buffer so each position is only fetched from the world once, and faces where neither block can change shape
+ * (ie the block doesn't override updatePostPlacement) are skipped.
+ */
+public class PostPlacementUpdater {
+
+    private static final int FLAGS = 3 | 16;
+    private static final Direction[] DIRECTIONS = Direction.values();
+    private static final Method UPDATE_METHOD = findUpdateMethod();
+    private static final Map<Class<?>, Boolean> SHAPE_UPDATES = new ConcurrentHashMap<>();
+
+    private final LongArrayList order = new LongArrayList();
+    private final LongOpenHashSet placed = new LongOpenHashSet();
+    private final Long2ObjectOpenHashMap<BlockState> states = new Long2ObjectOpenHashMap<>();
+    private final BlockPos.Mutable pos1 = new BlockPos.Mutable();
+    private final BlockPos.Mutable pos2 = new BlockPos.Mutable();
+
+    public void update(IWorld world, BufferIterator iterator, TemplateBlocks blocks, BlockPos origin) {
+        if (iterator.isEmpty()) {
+            return;
+        }
+
+        try {
+            collect(iterator, blocks, origin);
+
+            for (int i = 0; i < order.size(); i++) {
+                long pos = order.getLong(i);
+                for (Direction direction : DIRECTIONS) {
+                    long neighbour = BlockPos.offset(pos, direction);
+
+                    // faces shared with another placed block are handled from the positive side only
+                    if (direction.getAxisDirection() == Direction.AxisDirection.NEGATIVE && placed.contains(neighbour)) {
+                        continue;
+                    }
+
+                    updateFace(world, pos, neighbour, direction);
+                }
+            }
+        } finally {
+            order.clear();
+            placed.clear();
+            states.clear();
+        }
+    }
+
+    private void collect(BufferIterator iterator, TemplateBlocks blocks, BlockPos origin) {
+        while (iterator.next()) {
+            int index = iterator.nextIndex();
+            if (index < 0 || index >= blocks.size()) {
+                continue;
+            }
+
+            long pos = blocks.getPos(index, origin, pos1).toLong();
+            if (placed.add(pos)) {
+                order.add(pos);
+            }
+        }
+    }
+
+    private void updateFace(IWorld world, long pos, long neighbour, Direction direction) {
+        BlockState state1 = getState(world, pos);
+        BlockState state2 = getState(world, neighbour);
+
+        boolean update1 = canChangeShape(state1);
+        boolean update2 = canChangeShape(state2);
+        if (!update1 && !update2) {
+            return;
+        }
+
+        pos1.setPos(pos);
+        pos2.setPos(neighbour);
+
+        // update state at pos1 - the input position
+        BlockState result1 = state1;
+        if (update1) {
+            result1 = state1.updatePostPlacement(direction, state2, world, pos1, pos2);
+            if (result1 != state1) {
+                setState(world, pos, pos1, result1);
+            }
+        }
+
+        // update state at pos2 - the neighbour
+        if (update2) {
+            BlockState result2 = state2.updatePostPlacement(direction.getOpposite(), result1, world, pos2, pos1);
+            if (result2 != state2) {
+                setState(world, neighbour, pos2, result2);
+            }
+        }
+    }
+
+    private BlockState getState(IWorld world, long pos) {
+        BlockState state = states.get(pos);
+        if (state == null) {
+            state = world.getBlockState(pos1.setPos(pos));
+            states.put(pos, state);
+        }
+        return state;
+    }
+
+    private void setState(IWorld world, long key, BlockPos pos, BlockState state) {
+        world.setBlockState(pos, state, FLAGS);
+        states.put(key, state);
+    }
+
+    private static boolean canChangeShape(BlockState state) {
+        Block block = state.getBlock();
+        return SHAPE_UPDATES.computeIfAbsent(block.getClass(), PostPlacementUpdater::overridesUpdate);
+    }
+
+    private static boolean overridesUpdate(Class<?> type) {
+        if (UPDATE_METHOD == null) {
+            return true;
+        }
+
+        for (Class<?> c = type; c != null && c != AbstractBlock.class; c = c.getSuperclass()) {
+            try {
+                c.getDeclaredMethod(UPDATE_METHOD.getName(), UPDATE_METHOD.getParameterTypes());
+                return true;
+            } catch (NoSuchMethodException ignored) {
+
+            }
+        }
+
+        return false;
+    }
+
+    private static Method findUpdateMethod() {
+        // match on signature rather than name so that this works in both dev and obfuscated environments
+        for (Method method : AbstractBlock.class.getDeclaredMethods()) {
+            if (Modifier.isStatic(method.getModifiers()) || method.getReturnType() != BlockState.class) {
+                continue;
+            }
+
+            Class<?>[] params = method.getParameterTypes();
+            if (params.length == 6
+                    && params[0] == BlockState.class
+                    && params[1] == Direction.class
+                    && params[2] == BlockState.class
+                    && params[3] == IWorld.class
+                    && params[4] == BlockPos.class
+                    && params[5] == BlockPos.class) {
+                return method;
+            }
+        }
+
+        FeatureManager.LOG.warn("Unable to find Block#updatePostPlacement, post-paste updates will not be filtered");
+        return null;
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 TerraForged
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.terraforged.mod.featuremanager.template.template;
+
+import net.minecraft.util.math.BlockPos;
+
+import java.util.Arrays;
+
+/**
+ * Groups the blocks of a template paste by the chunk they land in, discarding any that fall outside the
+ * {@link TemplateRegion}. Blocks keep their (section-sorted) template order within each chunk.
+ */
+public class RegionBatch {
+
+    private final int[] offsets = new int[TemplateRegion.CHUNKS + 1];
+    private int[] chunks = new int[256];
+    private int[] order = new int[256];
+
+    public RegionBatch init(TemplateBlocks blocks, BlockPos origin, TemplateRegion region) {
+        int size = blocks.size();
+        if (order.length < size) {
+            chunks = new int[size];
+            order = new int[size];
+        }
+
+        int[] counts = offsets;
+        Arrays.fill(counts, 0);
+
+        for (int i = 0; i < size; i++) {
+            int chunk = region.indexOf(origin.getX() + blocks.getX(i), origin.getZ() + blocks.getZ(i));
+            chunks[i] = chunk;
+            if (chunk != -1) {
+                counts[chunk + 1]++;
+            }
+        }
+
+        for (int chunk = 0; chunk < TemplateRegion.CHUNKS; chunk++) {
+            counts[chunk + 1] += counts[chunk];
+        }
+
+        // counts[chunk] is used as the insert position then restored afterwards
+        for (int i = 0; i < size; i++) {
+            int chunk = chunks[i];
+            if (chunk != -1) {
+                order[counts[chunk]++] = i;
+            }
+        }
+
+        for (int chunk = TemplateRegion.CHUNKS; chunk > 0; chunk--) {
+            counts[chunk] = counts[chunk - 1];
+        }
+        counts[0] = 0;
+
+        return this;
+    }
+
+    public int start(int chunk) {
+        return offsets[chunk];
+    }
+
+    public int end(int chunk) {
+        return offsets[chunk + 1];
+    }
+
+    public int get(int i) {
+        return order[i];
+    }
+}
@@ -24,8 +24,9 @@
 
 package com.terraforged.mod.featuremanager.template.template;
 
+import com.terraforged.mod.chunk.fix.RegionDelegate;
+import com.terraforged.mod.chunk.fix.RegionFix;
 import com.terraforged.mod.featuremanager.template.StructureUtils;
-import com.terraforged.mod.featuremanager.template.buffer.BufferIterator;
 import com.terraforged.mod.featuremanager.template.buffer.PasteBuffer;
 import com.terraforged.mod.featuremanager.template.buffer.TemplateBuffer;
 import com.terraforged.mod.featuremanager.template.feature.Placement;
@@ -45,12 +46,12 @@ import net.minecraft.util.Rotation;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.IWorld;
 import net.minecraft.world.chunk.IChunk;
+import net.minecraft.world.gen.WorldGenRegion;
 import net.minecraftforge.common.util.Constants;
 
+import javax.annotation.Nullable;
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
@@ -60,11 +61,11 @@ public class Template {
     public static final PasteType CHECKED = Template::getCheckedPaste;
     public static final PasteType UNCHECKED = Template::getCheckedPaste;
 
-    private static final int PASTE_FLAG = 3 | 16;
-    private static final Direction[] directions = Direction.values();
     private static final ThreadLocal<PasteBuffer> PASTE_BUFFER = ThreadLocal.withInitial(PasteBuffer::new);
     private static final ThreadLocal<TemplateBuffer> TEMPLATE_BUFFER = ThreadLocal.withInitial(TemplateBuffer::new);
     private static final ThreadLocal<TemplateRegion> TEMPLATE_REGION = ThreadLocal.withInitial(TemplateRegion::new);
+    private static final ThreadLocal<RegionBatch> REGION_BATCH = ThreadLocal.withInitial(RegionBatch::new);
+    private static final ThreadLocal<PostPlacementUpdater> POST_PLACEMENT = ThreadLocal.withInitial(PostPlacementUpdater::new);
 
     private final BakedTemplate template;
     private final BakedDimensions dimensions;
@@ -73,23 +74,24 @@ public class Template {
     private final Paste checked = this::pasteChecked;
 
     public Template(List<BlockInfo> blocks) {
+        this(TemplateBlocks.of(blocks));
+    }
+
+    public Template(TemplateBlocks blocks) {
         int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE, minZ = Integer.MAX_VALUE;
         int maxX = Integer.MIN_VALUE, maxY = Integer.MIN_VALUE, maxZ = Integer.MIN_VALUE;
-        BlockInfo[] blockArray = blocks.toArray(new BlockInfo[0]);
 
         for (int i = 0; i < blocks.size(); i++) {
-            BlockInfo block = blocks.get(i);
-            minX = Math.min(minX, block.pos.getX());
-            minY = Math.min(minY, block.pos.getY());
-            minZ = Math.min(minZ, block.pos.getZ());
-            maxX = Math.max(maxX, block.pos.getX());
-            maxY = Math.max(maxY, block.pos.getY());
-            maxZ = Math.max(maxZ, block.pos.getZ());
-            blockArray[i] = block;
+            minX = Math.min(minX, blocks.getX(i));
+            minY = Math.min(minY, blocks.getY(i));
+            minZ = Math.min(minZ, blocks.getZ(i));
+            maxX = Math.max(maxX, blocks.getX(i));
+            maxY = Math.max(maxY, blocks.getY(i));
+            maxZ = Math.max(maxZ, blocks.getZ(i));
         }
 
         Dimensions dimensions = new Dimensions(new BlockPos(minX, minY, minZ), new BlockPos(maxX, maxY, maxZ));
-        this.template = new BakedTemplate(blockArray);
+        this.template = new BakedTemplate(blocks);
         this.dimensions = new BakedDimensions(dimensions);
     }
 
@@ -108,89 +110,147 @@ public class Template {
         BlockReader reader = new BlockReader();
         PasteBuffer buffer = PASTE_BUFFER.get();
         TemplateRegion region = TEMPLATE_REGION.get().init(origin);
+        buffer.clear();
         buffer.setRecording(config.updatePostPaste);
 
         BlockPos.Mutable pos1 = new BlockPos.Mutable();
         BlockPos.Mutable pos2 = new BlockPos.Mutable();
 
-        BlockInfo[] blocks = template.get(mirror, rotation);
-        for (int i = 0; i < blocks.length; i++) {
-            BlockInfo block = blocks[i];
-            addPos(pos1, origin, block.pos);
+        // group the blocks by chunk, discarding any that would leak outside the region
+        TemplateBlocks blocks = template.get(mirror, rotation);
+        RegionBatch batch = REGION_BATCH.get().init(blocks, origin, region);
+        WorldGenRegion worldGenRegion = getWorldGenRegion(world);
 
-            // make sure we don't leak outside the region
-            if (!region.containsBlock(world, pos1)) {
+        for (int chunkIndex = 0; chunkIndex < TemplateRegion.CHUNKS; chunkIndex++) {
+            int start = batch.start(chunkIndex);
+            int end = batch.end(chunkIndex);
+            if (start == end) {
                 continue;
             }
 
-            // ignore air in the template
-            if (!config.pasteAir && block.state.getBlock() == Blocks.AIR) {
-                continue;
-            }
+            IChunk chunk = getChunk(worldGenRegion, region.getChunkX(chunkIndex), region.getChunkZ(chunkIndex));
 
-            // don't replace existing solids
-            if (!config.replaceSolid && !placement.canReplaceAt(world, pos1)) {
-                continue;
-            }
+            for (int j = start; j < end; j++) {
+                int i = batch.get(j);
+                BlockState state = blocks.getState(i);
 
-            // generate a base going downwards if necessary
-            if (block.pos.getY() <= 0 && block.state.isNormalCube(reader.setState(block.state), BlockPos.ZERO)) {
-                placeBase(world, pos1, pos2, block.state, config.baseDepth);
-            }
+                // ignore air in the template
+                if (!config.pasteAir && state.getBlock() == Blocks.AIR) {
+                    continue;
+                }
+
+                blocks.getPos(i, origin, pos1);
+
+                // don't replace existing solids
+                if (!config.replaceSolid && !placement.canReplaceAt(world, pos1)) {
+                    continue;
+                }
 
-            world.setBlockState(pos1, block.state, 2);
-            buffer.record(i);
+                // generate a base going downwards if necessary
+                if (blocks.getY(i) <= 0 && state.isNormalCube(reader.setState(state), BlockPos.ZERO)) {
+                    placeBase(world, pos1, pos2, state, config.baseDepth);
+                }
+
+                if (chunk == null) {
+                    world.setBlockState(pos1, state, 2);
+                } else {
+                    setBlockState(worldGenRegion, chunk, pos1, state);
+                }
+
+                buffer.record(i);
 
-            placed = true;
+                placed = true;
+            }
         }
 
         if (config.updatePostPaste) {
             // once all blocks placed, iterate them and update neighbours if required
             buffer.reset();
-            updatePostPlacement(world, buffer, blocks, origin, pos1, pos2);
+            POST_PLACEMENT.get().update(world, buffer, blocks, origin);
         }
 
         return placed;
     }
 
+    /**
+     * Returns the plain WorldGenRegion that blocks can be written through directly, or null if they must be set
+     * through the world. Only vanilla's own region, or our RegionDelegate/RegionFix wrapping one (which forward
+     * setBlockState unchanged), qualify - any other subclass may override setBlockState (eg to record placements).
+     */
+    @Nullable
+    private static WorldGenRegion getWorldGenRegion(IWorld world) {
+        if (world.getClass() == RegionFix.class || world.getClass() == RegionDelegate.class) {
+            world = ((RegionDelegate) world).getDelegate();
+        }
+        return world.getClass() == WorldGenRegion.class ? (WorldGenRegion) world : null;
+    }
+
+    /**
+     * Returns the chunk to write blocks directly into, or null if blocks must be set through the world
+     */
+    @Nullable
+    private static IChunk getChunk(@Nullable WorldGenRegion region, int chunkX, int chunkZ) {
+        if (region == null || !region.chunkExists(chunkX, chunkZ)) {
+            return null;
+        }
+        return region.getChunk(chunkX, chunkZ);
+    }
+
+    /**
+     * Writes the state directly to the chunk, mirroring what WorldGenRegion#setBlockState does for plain blocks.
+     * States with tile entities or that need post-processing go through the region as normal.
+     */
+    private static void setBlockState(WorldGenRegion region, IChunk chunk, BlockPos pos, BlockState state) {
+        if (state.hasTileEntity() || state.blockNeedsPostProcessing(region, pos)) {
+            region.setBlockState(pos, state, 2);
+            return;
+        }
+
+        BlockState previous = chunk.setBlockState(pos, state, false);
+        if (previous != null) {
+            region.getWorld().onBlockStateChange(pos, previous, state);
+            if (previous.hasTileEntity()) {
+                chunk.removeTileEntity(pos);
+            }
+        }
+    }
+
     private boolean pasteChecked(IWorld world, BlockPos origin, Mirror mirror, Rotation rotation, Placement placement, PasteConfig config) {
-        Dimensions dimensions = this.dimensions.get(mirror, rotation);
+        TemplateBlocks blocks = template.get(mirror, rotation);
         TemplateRegion region = TEMPLATE_REGION.get().init(origin);
-        TemplateBuffer buffer = TEMPLATE_BUFFER.get().init(world, origin, dimensions.min, dimensions.max);
+        TemplateBuffer buffer = TEMPLATE_BUFFER.get().init(world, blocks.getOcclusion());
 
         BlockPos.Mutable pos1 = new BlockPos.Mutable();
         BlockPos.Mutable pos2 = new BlockPos.Mutable();
-        BlockInfo[] blocks = template.get(mirror, rotation);
 
-        // record valid BlockInfos into the buffer
-        for (int i = 0; i < blocks.length; i++) {
-            BlockInfo block = blocks[i];
-            addPos(pos1, origin, block.pos);
+        // record valid blocks into the buffer
+        for (int i = 0; i < blocks.size(); i++) {
+            blocks.getPos(i, origin, pos1);
 
             // make sure we don't leak outside the region
             if (!region.containsBlock(world, pos1)) {
                 continue;
             }
 
-            buffer.record(i, block, pos1, placement, config);
+            buffer.record(i, blocks, pos1, placement, config);
         }
 
         boolean placed = false;
         BlockReader reader = new BlockReader();
         while (buffer.next()) {
             int i = buffer.nextIndex();
-            BlockInfo block = blocks[i];
-            addPos(pos1, origin, block.pos);
+            BlockState state = blocks.getState(i);
+            blocks.getPos(i, origin, pos1);
 
-            if (pos1.getY() <= origin.getY() && block.state.isNormalCube(reader.setState(block.state), BlockPos.ZERO)) {
-                placeBase(world, pos1, pos2, block.state, config.baseDepth);
-                world.setBlockState(pos1, block.state, 2);
+            if (pos1.getY() <= origin.getY() && state.isNormalCube(reader.setState(state), BlockPos.ZERO)) {
+                placeBase(world, pos1, pos2, state, config.baseDepth);
+                world.setBlockState(pos1, state, 2);
                 placed = true;
-            } else if (buffer.test(pos1)) {
+            } else if (buffer.test(i)) {
                 // test uses the placement mask to prevent blocks overriding existing
                 // solid blocks
                 placed = true;
-                world.setBlockState(pos1, block.state, 2);
+                world.setBlockState(pos1, state, 2);
             } else {
                 // if failed to place mark the pos as invalid
                 buffer.exclude(i);
@@ -200,7 +260,7 @@ public class Template {
         if (config.updatePostPaste) {
             // once all blocks placed, iterate them and update neighbours if required
             buffer.reset();
-            updatePostPlacement(world, buffer, blocks, origin, pos1, pos2);
+            POST_PLACEMENT.get().update(world, buffer, blocks, origin);
         }
 
         return placed;
@@ -222,43 +282,6 @@ public class Template {
         return unchecked;
     }
 
-    private static void updatePostPlacement(IWorld world, BufferIterator iterator, BlockInfo[] blocks, BlockPos origin, BlockPos.Mutable pos1, BlockPos.Mutable pos2) {
-        if (!iterator.isEmpty()) {
-            while (iterator.next()) {
-                int index = iterator.nextIndex();
-                if (index < 0 || index >= blocks.length) {
-                    continue;
-                }
-
-                BlockInfo block = blocks[index];
-                addPos(pos1, origin, block.pos);
-
-                for (Direction direction : directions) {
-                    updatePostPlacement(world, pos1, pos2, direction);
-                }
-            }
-        }
-    }
-
-    private static void updatePostPlacement(IWorld world, BlockPos.Mutable pos1, BlockPos.Mutable pos2, Direction direction) {
-        pos2.setPos(pos1).move(direction, 1);
-
-        BlockState state1 = world.getBlockState(pos1);
-        BlockState state2 = world.getBlockState(pos2);
-
-        // update state at pos1 - the input position
-        BlockState result1 = state1.updatePostPlacement(direction, state2, world, pos1, pos2);
-        if (result1 != state1) {
-            world.setBlockState(pos1, result1, PASTE_FLAG);
-        }
-
-        // update state at pos2 - the neighbour
-        BlockState result2 = state2.updatePostPlacement(direction.getOpposite(), result1, world, pos2, pos1);
-        if (result2 != state2) {
-            world.setBlockState(pos2, result2, PASTE_FLAG);
-        }
-    }
-
     private void placeBase(IWorld world, BlockPos pos, BlockPos.Mutable pos2, BlockState state, int depth) {
         for (int dy = 0; dy < depth; dy++) {
             pos2.setPos(pos).move(Direction.DOWN, dy);
@@ -286,15 +309,17 @@ public class Template {
     }
 
     public static Optional<Template> load(InputStream data) {
+        return loadBlocks(data).map(Template::new);
+    }
+
+    public static Optional<TemplateBlocks> loadBlocks(InputStream data) {
         try {
             CompoundNBT root = CompressedStreamTools.readCompressed(data);
             if (!root.contains("palette") || !root.contains("blocks")) {
                 return Optional.empty();
             }
             BlockState[] palette = readPalette(root.getList("palette", Constants.NBT.TAG_COMPOUND));
-            BlockInfo[] blockInfos = readBlocks(root.getList("blocks", Constants.NBT.TAG_COMPOUND), palette);
-            List<BlockInfo> blocks = relativize(blockInfos);
-            return Optional.of(new Template(blocks));
+            return Optional.of(readBlocks(root.getList("blocks", Constants.NBT.TAG_COMPOUND), palette));
         } catch (IOException e) {
             e.printStackTrace();
             return Optional.empty();
@@ -313,63 +338,59 @@ public class Template {
         return palette;
     }
 
-    private static BlockInfo[] readBlocks(ListNBT list, BlockState[] palette) {
-        BlockInfo[] blocks = new BlockInfo[list.size()];
+    private static TemplateBlocks readBlocks(ListNBT list, BlockState[] palette) {
+        int[] states = new int[list.size()];
+        long[] positions = new long[list.size()];
         for (int i = 0; i < list.size(); i++) {
             CompoundNBT compound = list.getCompound(i);
-            BlockState state = palette[compound.getInt("state")];
-            BlockPos pos = readPos(compound.getList("pos", Constants.NBT.TAG_INT));
-            blocks[i] = new BlockInfo(pos, state);
+            ListNBT pos = compound.getList("pos", Constants.NBT.TAG_INT);
+            states[i] = compound.getInt("state");
+            positions[i] = BlockPos.pack(pos.getInt(0), pos.getInt(1), pos.getInt(2));
         }
-        return blocks;
+        relativize(palette, states, positions);
+        return new TemplateBlocks(palette, states, positions);
     }
 
-    private static List<BlockInfo> relativize(BlockInfo[] blocks) {
+    private static void relativize(BlockState[] palette, int[] states, long[] positions) {
         // find the lowest, most-central block (the origin)
-        BlockPos origin = null;
-        int lowestSolid = Integer.MAX_VALUE;
+        boolean found = false;
+        int originX = 0, originY = 0, originZ = 0;
 
-        for (BlockInfo block : blocks) {
-            if (!block.getState().isSolid()) {
+        for (int i = 0; i < positions.length; i++) {
+            if (!palette[states[i]].isSolid()) {
                 continue;
             }
 
-            if (origin == null) {
-                origin = block.pos;
-                lowestSolid = block.pos.getY();
-            } else if (block.pos.getY() < lowestSolid) {
-                origin = block.pos;
-                lowestSolid = block.pos.getY();
-            } else if (block.pos.getY() == lowestSolid) {
-                if (block.pos.getX() < origin.getX() && block.pos.getZ() <= origin.getZ()) {
-                    origin = block.pos;
-                    lowestSolid = block.pos.getY();
-                } else if (block.pos.getZ() < origin.getZ() && block.pos.getX() <= origin.getX()) {
-                    origin = block.pos;
-                    lowestSolid = block.pos.getY();
-                }
+            int x = BlockPos.unpackX(positions[i]);
+            int y = BlockPos.unpackY(positions[i]);
+            int z = BlockPos.unpackZ(positions[i]);
+
+            boolean origin = !found || y < originY;
+            if (!origin && y == originY) {
+                origin = (x < originX && z <= originZ) || (z < originZ && x <= originX);
+            }
+
+            if (origin) {
+                found = true;
+                originX = x;
+                originY = y;
+                originZ = z;
             }
         }
 
-        if (origin == null) {
-            return Arrays.asList(blocks);
+        if (!found) {
+            return;
         }
 
         // relativize all blocks to the origin
-        List<BlockInfo> list = new ArrayList<>(blocks.length);
-        for (BlockInfo in : blocks) {
-            BlockPos pos = in.pos.subtract(origin);
-            list.add(new BlockInfo(pos, in.state));
+        for (int i = 0; i < positions.length; i++) {
+            long pos = positions[i];
+            positions[i] = BlockPos.pack(
+                    BlockPos.unpackX(pos) - originX,
+                    BlockPos.unpackY(pos) - originY,
+                    BlockPos.unpackZ(pos) - originZ
+            );
         }
-
-        return list;
-    }
-
-    private static BlockPos readPos(ListNBT list) {
-        int x = list.getInt(0);
-        int y = list.getInt(1);
-        int z = list.getInt(2);
-        return new BlockPos(x, y, z);
     }
 
     public interface PasteProvider {
@@ -0,0 +1,187 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 TerraForged
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.terraforged.mod.featuremanager.template.template;
+
+import net.minecraft.block.BlockState;
+import net.minecraft.util.Mirror;
+import net.minecraft.util.Rotation;
+import net.minecraft.util.math.BlockPos;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact representation of a template's blocks: a palette of states plus, for each block, its palette index and
+ * its position (relative to the template origin) packed into a long.
+ *
+ * Mirroring/rotating a template transforms each palette entry rather than each block. Each baked variant is sorted
+ * into chunk-section order (y, then z, then x) so that pastes write to the world in memory order.
+ */
+public class TemplateBlocks {
+
+    private final BlockState[] palette;
+    private final int[] states;
+    private final long[] positions;
+    private volatile TemplateOcclusion occlusion;
+
+    public TemplateBlocks(BlockState[] palette, int[] states, long[] positions) {
+        this.palette = palette;
+        this.states = states;
+        this.positions = positions;
+    }
+
+    public int size() {
+        return states.length;
+    }
+
+    /**
+     * @return the occlusion rays for this variant, computed on first use
+     */
+    public TemplateOcclusion getOcclusion() {
+        TemplateOcclusion occlusion = this.occlusion;
+        if (occlusion == null) {
+            occlusion = new TemplateOcclusion(this);
+            this.occlusion = occlusion;
+        }
+        return occlusion;
+    }
+
+    public BlockState getState(int i) {
+        return palette[states[i]];
+    }
+
+    public int getX(int i) {
+        return BlockPos.unpackX(positions[i]);
+    }
+
+    public int getY(int i) {
+        return BlockPos.unpackY(positions[i]);
+    }
+
+    public int getZ(int i) {
+        return BlockPos.unpackZ(positions[i]);
+    }
+
+    /**
+     * Sets the mutable pos to the world position of the i'th block when the template is pasted at the origin
+     */
+    public BlockPos.Mutable getPos(int i, BlockPos origin, BlockPos.Mutable pos) {
+        long packed = positions[i];
+        return pos.setPos(
+                origin.getX() + BlockPos.unpackX(packed),
+                origin.getY() + BlockPos.unpackY(packed),
+                origin.getZ() + BlockPos.unpackZ(packed)
+        );
+    }
+
+    public TemplateBlocks transform(Mirror mirror, Rotation rotation) {
+        BlockState[] palette = new BlockState[this.palette.length];
+        for (int i = 0; i < palette.length; i++) {
+            palette[i] = this.palette[i].mirror(mirror).rotate(rotation);
+        }
+
+        BlockPos.Mutable pos = new BlockPos.Mutable();
+        long[] positions = new long[this.positions.length];
+        for (int i = 0; i < positions.length; i++) {
+            long packed = this.positions[i];
+            pos.setPos(BlockPos.unpackX(packed), BlockPos.unpackY(packed), BlockPos.unpackZ(packed));
+            positions[i] = Template.transform(pos, mirror, rotation).toLong();
+        }
+
+        return new TemplateBlocks(palette, states, positions);
+    }
+
+    /**
+     * @return a copy of these blocks sorted by y, then z, then x
+     */
+    public TemplateBlocks sorted() {
+        int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE, minZ = Integer.MAX_VALUE;
+        int maxX = Integer.MIN_VALUE, maxZ = Integer.MIN_VALUE;
+        for (long pos : positions) {
+            minX = Math.min(minX, BlockPos.unpackX(pos));
+            minY = Math.min(minY, BlockPos.unpackY(pos));
+            minZ = Math.min(minZ, BlockPos.unpackZ(pos));
+            maxX = Math.max(maxX, BlockPos.unpackX(pos));
+            maxZ = Math.max(maxZ, BlockPos.unpackZ(pos));
+        }
+
+        // the upper half of each key is the block's yzx index within the template's bounds, the lower half is its
+        // index in this array, so sorting the keys sorts the blocks without boxing or unpacking them per comparison
+        long width = maxX - minX + 1L;
+        long depth = maxZ - minZ + 1L;
+        long[] keys = new long[positions.length];
+        for (int i = 0; i < keys.length; i++) {
+            long pos = positions[i];
+            long x = BlockPos.unpackX(pos) - minX;
+            long y = BlockPos.unpackY(pos) - minY;
+            long z = BlockPos.unpackZ(pos) - minZ;
+            keys[i] = (((y * depth) + z) * width + x) << 32 | i;
+        }
+
+        Arrays.sort(keys);
+
+        int[] states = new int[keys.length];
+        long[] positions = new long[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            int index = (int) keys[i];
+            states[i] = this.states[index];
+            positions[i] = this.positions[index];
+        }
+
+        return new TemplateBlocks(palette, states, positions);
+    }
+
+    BlockState[] getPalette() {
+        return palette;
+    }
+
+    int[] getStates() {
+        return states;
+    }
+
+    long[] getPositions() {
+        return positions;
+    }
+
+    public static TemplateBlocks of(List<BlockInfo> blocks) {
+        Map<BlockState, Integer> indices = new IdentityHashMap<>();
+        int[] states = new int[blocks.size()];
+        long[] positions = new long[blocks.size()];
+        for (int i = 0; i < blocks.size(); i++) {
+            BlockInfo block = blocks.get(i);
+            states[i] = indices.computeIfAbsent(block.state, s -> indices.size());
+            positions[i] = block.pos.toLong();
+        }
+
+        BlockState[] palette = new BlockState[indices.size()];
+        for (Map.Entry<BlockState, Integer> entry : indices.entrySet()) {
+            palette[entry.getValue()] = entry.getKey();
+        }
+
+        return new TemplateBlocks(palette, states, positions);
+    }
+}
@@ -0,0 +1,250 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 TerraForged
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.terraforged.mod.featuremanager.template.template;
+
+import com.terraforged.mod.featuremanager.FeatureManager;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.nbt.CompoundNBT;
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTUtil;
+import net.minecraft.util.ResourceLocation;
+
+import javax.annotation.Nullable;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * On-disk cache of parsed templates, keyed by resource name and validated against the length & checksum of the
+ * source .nbt file, so that unchanged templates don't have their (compressed) NBT re-parsed on every launch.
+ *
+ * Palette entries are stored as NBT and re-resolved on load so that the cache never holds stale block states.
+ */
+public class TemplateCache {
+
+    private static final int VERSION = 1;
+    private static final String FILE_NAME = "templates.bin";
+
+    private static volatile File directory = null;
+
+    private final File file;
+    private final Map<String, Entry> entries;
+    private final Map<String, Entry> used = new HashMap<>();
+    private boolean dirty = false;
+
+    private TemplateCache(@Nullable File file, Map<String, Entry> entries) {
+        this.file = file;
+        this.entries = entries;
+    }
+
+    /**
+     * Sets the directory the cache is stored in. A null directory disables the cache.
+     */
+    public static void setDirectory(@Nullable File dir) {
+        directory = dir;
+    }
+
+    public static TemplateCache open() {
+        File dir = directory;
+        if (dir == null) {
+            return new TemplateCache(null, new HashMap<>());
+        }
+
+        File file = new File(dir, FILE_NAME);
+        return new TemplateCache(file, read(file));
+    }
+
+    @Nullable
+    public TemplateBlocks get(ResourceLocation name, byte[] data) {
+        if (file == null) {
+            return null;
+        }
+
+        String key = name.toString();
+        Entry entry = entries.get(key);
+        if (entry == null || entry.length != data.length || entry.checksum != checksum(data)) {
+            return null;
+        }
+
+        used.put(key, entry);
+        return entry.toBlocks();
+    }
+
+    public void put(ResourceLocation name, byte[] data, TemplateBlocks blocks) {
+        if (file == null) {
+            return;
+        }
+
+        BlockState[] palette = blocks.getPalette();
+        CompoundNBT[] paletteData = new CompoundNBT[palette.length];
+        for (int i = 0; i < palette.length; i++) {
+            paletteData[i] = NBTUtil.writeBlockState(palette[i]);
+        }
+
+        used.put(name.toString(), new Entry(data.length, checksum(data), paletteData, blocks.getStates(), blocks.getPositions()));
+        dirty = true;
+    }
+
+    /**
+     * Writes the entries that were used since the cache was opened, dropping any for templates that no longer exist
+     */
+    public void save() {
+        if (file == null || !(dirty || used.size() != entries.size())) {
+            return;
+        }
+
+        File temp = new File(file.getParentFile(), FILE_NAME + ".tmp");
+        try {
+            if (!file.getParentFile().exists() && !file.getParentFile().mkdirs()) {
+                throw new IOException("Unable to create directory: " + file.getParentFile());
+            }
+
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+                out.writeInt(VERSION);
+                out.writeInt(used.size());
+                for (Map.Entry<String, Entry> entry : used.entrySet()) {
+                    out.writeUTF(entry.getKey());
+                    entry.getValue().write(out);
+                }
+            }
+
+            if (file.exists() && !file.delete()) {
+                throw new IOException("Unable to replace file: " + file);
+            }
+
+            if (!temp.renameTo(file)) {
+                throw new IOException("Unable to rename file: " + temp);
+            }
+
+            FeatureManager.LOG.debug("Saved {} templates to cache {}", used.size(), file);
+        } catch (IOException e) {
+            FeatureManager.LOG.error("Failed to save template cache {}", file, e);
+        }
+    }
+
+    private static Map<String, Entry> read(File file) {
+        Map<String, Entry> entries = new HashMap<>();
+        if (!file.exists()) {
+            return entries;
+        }
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != VERSION) {
+                return entries;
+            }
+
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                String name = in.readUTF();
+                entries.put(name, Entry.read(in));
+            }
+        } catch (IOException e) {
+            FeatureManager.LOG.warn("Discarding unreadable template cache {}", file, e);
+            entries.clear();
+        }
+
+        return entries;
+    }
+
+    private static long checksum(byte[] data) {
+        CRC32 crc = new CRC32();
+        crc.update(data, 0, data.length);
+        return crc.getValue();
+    }
+
+    private static class Entry {
+
+        private final int length;
+        private final long checksum;
+        private final CompoundNBT[] palette;
+        private final int[] states;
+        private final long[] positions;
+
+        private Entry(int length, long checksum, CompoundNBT[] palette, int[] states, long[] positions) {
+            this.length = length;
+            this.checksum = checksum;
+            this.palette = palette;
+            this.states = states;
+            this.positions = positions;
+        }
+
+        private TemplateBlocks toBlocks() {
+            BlockState[] states = new BlockState[palette.length];
+            for (int i = 0; i < palette.length; i++) {
+                try {
+                    states[i] = NBTUtil.readBlockState(palette[i]);
+                } catch (Throwable t) {
+                    states[i] = Blocks.AIR.getDefaultState();
+                }
+            }
+            return new TemplateBlocks(states, this.states, positions);
+        }
+
+        private void write(DataOutputStream out) throws IOException {
+            out.writeInt(length);
+            out.writeLong(checksum);
+
+            out.writeInt(palette.length);
+            for (CompoundNBT state : palette) {
+                CompressedStreamTools.write(state, out);
+            }
+
+            out.writeInt(states.length);
+            for (int i = 0; i < states.length; i++) {
+                out.writeInt(states[i]);
+                out.writeLong(positions[i]);
+            }
+        }
+
+        private static Entry read(DataInputStream in) throws IOException {
+            int length = in.readInt();
+            long checksum = in.readLong();
+
+            CompoundNBT[] palette = new CompoundNBT[in.readInt()];
+            for (int i = 0; i < palette.length; i++) {
+                palette[i] = CompressedStreamTools.read(in);
+            }
+
+            int size = in.readInt();
+            int[] states = new int[size];
+            long[] positions = new long[size];
+            for (int i = 0; i < size; i++) {
+                states[i] = in.readInt();
+                positions[i] = in.readLong();
+            }
+
+            return new Entry(length, checksum, palette, states, positions);
+        }
+    }
+}
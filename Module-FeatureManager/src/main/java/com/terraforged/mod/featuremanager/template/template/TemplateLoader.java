@@ -26,44 +26,149 @@ package com.terraforged.mod.featuremanager.template.template;
 
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
 import com.terraforged.mod.featuremanager.FeatureManager;
 import com.terraforged.mod.featuremanager.data.DataManager;
+import com.terraforged.mod.featuremanager.util.Json;
 import net.minecraft.util.ResourceLocation;
 
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
 import java.util.*;
+import java.util.concurrent.Callable;
 
-public class TemplateLoader {
+public class TemplateLoader implements AutoCloseable {
 
     private final DataManager manager;
+    private final TemplateCache templateCache = TemplateCache.open();
     private final Map<ResourceLocation, Template> cache = new HashMap<>();
+    private final Map<String, List<ResourceLocation>> listings = new HashMap<>();
 
     public TemplateLoader(DataManager manager) {
         this.manager = manager;
     }
 
+    @Override
+    public void close() {
+        templateCache.save();
+    }
+
+    /**
+     * Loads every template referenced by the given template configs up-front so that the (serial) config parsing
+     * only has to look them up.
+     */
+    public void preload(Collection<JsonElement> configs) {
+        Set<String> paths = new LinkedHashSet<>();
+        for (JsonElement config : configs) {
+            if (!config.isJsonObject()) {
+                continue;
+            }
+
+            JsonObject root = config.getAsJsonObject();
+            ResourceLocation name = ResourceLocation.tryCreate(Json.getString("name", root, ""));
+            JsonElement list = root.get("paths");
+            if (name == null || list == null || !list.isJsonArray()) {
+                continue;
+            }
+
+            for (JsonElement path : list.getAsJsonArray()) {
+                paths.add(parsePath(name.getNamespace(), path.getAsString()).getPath());
+            }
+        }
+        preloadPaths(paths);
+    }
+
     public List<Template> load(String namespace, JsonArray paths) {
         List<Template> list = new ArrayList<>();
         for (JsonElement element : paths) {
-            ResourceLocation location = parsePath(namespace, element.getAsString());
-            manager.forEach(location.getPath(), DataManager.NBT, (name, data) -> {
+            String path = parsePath(namespace, element.getAsString()).getPath();
+            if (!listings.containsKey(path)) {
+                preloadPaths(Collections.singleton(path));
+            }
+
+            for (ResourceLocation name : listings.get(path)) {
                 Template template = cache.get(name);
-                if (template == null) {
-                    Optional<Template> instance = Template.load(data);
-                    if (instance.isPresent()) {
-                        FeatureManager.LOG.debug("Loading template {}", name);
-                        cache.put(name, instance.get());
-                        list.add(instance.get());
-                    } else {
-                        FeatureManager.LOG.debug("Failed to load template {}", name);
-                    }
-                } else {
+                if (template != null) {
                     list.add(template);
                 }
-            });
+            }
         }
         return list;
     }
 
+    private void preloadPaths(Collection<String> paths) {
+        // list each directory once
+        List<ResourceLocation> names = new ArrayList<>();
+        Set<ResourceLocation> seen = new HashSet<>(cache.keySet());
+        for (String path : paths) {
+            if (listings.containsKey(path)) {
+                continue;
+            }
+
+            List<ResourceLocation> listing = manager.list(path, DataManager.NBT);
+            listings.put(path, listing);
+            for (ResourceLocation name : listing) {
+                if (seen.add(name)) {
+                    names.add(name);
+                }
+            }
+        }
+
+        if (names.isEmpty()) {
+            return;
+        }
+
+        // read the raw files in parallel
+        List<Callable<byte[]>> reads = new ArrayList<>(names.size());
+        for (ResourceLocation name : names) {
+            reads.add(() -> manager.read(name));
+        }
+        List<byte[]> data = manager.invokeAll(reads);
+
+        // group identical files (ByteBuffer equality compares contents) so each is only parsed once
+        Map<ByteBuffer, List<ResourceLocation>> contents = new LinkedHashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            byte[] bytes = data.get(i);
+            if (bytes == null) {
+                FeatureManager.LOG.debug("Failed to load template {}", names.get(i));
+                continue;
+            }
+            contents.computeIfAbsent(ByteBuffer.wrap(bytes), k -> new ArrayList<>()).add(names.get(i));
+        }
+
+        // decode & bake each unique file in parallel, reusing the on-disk cache where it's still valid
+        List<byte[]> files = new ArrayList<>(contents.size());
+        List<List<ResourceLocation>> groups = new ArrayList<>(contents.size());
+        List<Callable<Loaded>> tasks = new ArrayList<>(contents.size());
+        for (Map.Entry<ByteBuffer, List<ResourceLocation>> entry : contents.entrySet()) {
+            byte[] bytes = entry.getKey().array();
+            TemplateBlocks cached = templateCache.get(entry.getValue().get(0), bytes);
+            files.add(bytes);
+            groups.add(entry.getValue());
+            tasks.add(() -> Loaded.of(bytes, cached));
+        }
+        List<Loaded> results = manager.invokeAll(tasks);
+
+        // register results on this thread in listing order
+        for (int i = 0; i < groups.size(); i++) {
+            Loaded result = results.get(i);
+            List<ResourceLocation> group = groups.get(i);
+            if (result == null) {
+                FeatureManager.LOG.debug("Failed to load template {}", group.get(0));
+                continue;
+            }
+
+            if (!result.cached) {
+                templateCache.put(group.get(0), files.get(i), result.blocks);
+            }
+
+            for (ResourceLocation name : group) {
+                FeatureManager.LOG.debug("Loading template {}", name);
+                cache.put(name, result.template);
+            }
+        }
+    }
+
     private static ResourceLocation parsePath(String namespace, String path) {
         String location = path;
         int split = location.indexOf(':');
@@ -76,4 +181,24 @@ public class TemplateLoader {
         }
         return new ResourceLocation(namespace, location);
     }
+
+    private static class Loaded {
+
+        private final boolean cached;
+        private final TemplateBlocks blocks;
+        private final Template template;
+
+        private Loaded(boolean cached, TemplateBlocks blocks) {
+            this.cached = cached;
+            this.blocks = blocks;
+            this.template = new Template(blocks);
+        }
+
+        private static Loaded of(byte[] data, TemplateBlocks cached) {
+            if (cached != null) {
+                return new Loaded(true, cached);
+            }
+            return Template.loadBlocks(new ByteArrayInputStream(data)).map(blocks -> new Loaded(false, blocks)).orElse(null);
+        }
+    }
 }
@@ -24,6 +24,7 @@
 
 package com.terraforged.mod.featuremanager.template.template;
 
+import com.google.gson.JsonElement;
 import com.terraforged.mod.featuremanager.FeatureManager;
 import com.terraforged.mod.featuremanager.data.DataManager;
 import com.terraforged.mod.featuremanager.template.feature.TemplateFeatureConfig;
@@ -32,7 +33,9 @@ import net.minecraft.util.ResourceLocation;
 import org.apache.logging.log4j.Marker;
 import org.apache.logging.log4j.MarkerManager;
 
+import java.io.IOException;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 public class TemplateManager {
@@ -50,16 +53,29 @@ public class TemplateManager {
     public synchronized void load(DataManager dataManager) {
         clear();
         FeatureTypes.clearFeatures();
-        TemplateLoader loader = new TemplateLoader(dataManager);
-        dataManager.forEachJson("templates", (location, data) -> {
-            if (data.isJsonObject()) {
-                TemplateFeatureConfig instance = TemplateFeatureConfig.parse(loader, data.getAsJsonObject());
-                templates.put(instance.name, instance);
-                FeatureManager.LOG.debug(marker, " Loaded template config: {}, size:{}", location, instance.templates.size());
-            } else {
+        try (TemplateLoader loader = new TemplateLoader(dataManager)) {
+            Map<ResourceLocation, JsonElement> configs = new LinkedHashMap<>();
+            dataManager.forEachJson("templates", configs::put);
+
+            // load all referenced templates in parallel before registering the configs in order
+            loader.preload(configs.values());
+
+            for (Map.Entry<ResourceLocation, JsonElement> entry : configs.entrySet()) {
+                ResourceLocation location = entry.getKey();
+                JsonElement data = entry.getValue();
+                try {
+                    if (data.isJsonObject()) {
+                        TemplateFeatureConfig instance = TemplateFeatureConfig.parse(loader, data.getAsJsonObject());
+                        templates.put(instance.name, instance);
+                        FeatureManager.LOG.debug(marker, " Loaded template config: {}, size:{}", location, instance.templates.size());
+                        continue;
+                    }
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
                 FeatureManager.LOG.error(marker, " Failed to load template config: {}", location);
             }
-        });
+        }
     }
 
     public synchronized void clear() {
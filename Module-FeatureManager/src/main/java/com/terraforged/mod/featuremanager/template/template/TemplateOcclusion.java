@@ -0,0 +1,124 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 TerraForged
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.terraforged.mod.featuremanager.template.template;
+
+import com.terraforged.mod.featuremanager.template.buffer.BufferBitSet;
+import com.terraforged.noise.util.NoiseUtil;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+
+/**
+ * Precomputed occlusion rays for a baked template variant.
+ *
+ * A checked paste only places a block if none of the positions between it and the template's origin column (at the
+ * same height) were blocked by existing terrain. The positions along each block's ray are fixed for a given variant,
+ * so they're stored as bit indices into a placement mask covering the variant's bounds.
+ */
+public class TemplateOcclusion {
+
+    private static final int MAX_STEPS = 10;
+
+    public final int minX;
+    public final int minY;
+    public final int minZ;
+    public final int maxX;
+    public final int maxY;
+    public final int maxZ;
+
+    private final int[] rayStart;
+    private final int[] rayBits;
+
+    TemplateOcclusion(TemplateBlocks blocks) {
+        int minX = 0, minY = 0, minZ = 0;
+        int maxX = 0, maxY = 0, maxZ = 0;
+        for (int i = 0; i < blocks.size(); i++) {
+            minX = Math.min(minX, blocks.getX(i));
+            minY = Math.min(minY, blocks.getY(i));
+            minZ = Math.min(minZ, blocks.getZ(i));
+            maxX = Math.max(maxX, blocks.getX(i));
+            maxY = Math.max(maxY, blocks.getY(i));
+            maxZ = Math.max(maxZ, blocks.getZ(i));
+        }
+
+        this.minX = minX;
+        this.minY = minY;
+        this.minZ = minZ;
+        this.maxX = maxX;
+        this.maxY = maxY;
+        this.maxZ = maxZ;
+
+        int sizeX = maxX - minX + 1;
+        int sizeZ = maxZ - minZ + 1;
+        IntArrayList bits = new IntArrayList(blocks.size() * 4);
+        this.rayStart = new int[blocks.size() + 1];
+
+        for (int i = 0; i < blocks.size(); i++) {
+            rayStart[i] = bits.size();
+            addRay(blocks.getX(i), blocks.getY(i) - minY, blocks.getZ(i), sizeX, sizeZ, bits);
+        }
+
+        this.rayStart[blocks.size()] = bits.size();
+        this.rayBits = bits.toIntArray();
+    }
+
+    /**
+     * @return true if nothing recorded in the mask lies between the i'th block and the origin column
+     */
+    public boolean isClear(int i, BufferBitSet mask) {
+        for (int k = rayStart[i], end = rayStart[i + 1]; k < end; k++) {
+            if (mask.get(rayBits[k])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void addRay(int x, int dy, int z, int sizeX, int sizeZ, IntArrayList bits) {
+        if (x == 0 || z == 0) {
+            return;
+        }
+
+        // step one block at a time along the major axis towards the origin column
+        float stepX, stepZ;
+        if (Math.abs(x) >= Math.abs(z)) {
+            stepX = Math.signum(x);
+            stepZ = z / (float) Math.abs(x);
+        } else {
+            stepX = x / (float) Math.abs(z);
+            stepZ = Math.signum(z);
+        }
+
+        float px = x;
+        float pz = z;
+        for (int count = 0; x != 0 && z != 0 && count < MAX_STEPS; count++) {
+            if (x >= minX && x <= maxX && z >= minZ && z <= maxZ) {
+                bits.add(BufferBitSet.index(x - minX, dy, z - minZ, sizeX, sizeZ));
+            }
+            px -= stepX;
+            pz -= stepZ;
+            x = NoiseUtil.floor(px);
+            z = NoiseUtil.floor(pz);
+        }
+    }
+}
@@ -30,6 +30,9 @@ import net.minecraft.world.IWorld;
 public class TemplateRegion {
 
     private static final int SIZE = 1;
+    private static final int WIDTH = SIZE * 2 + 1;
+
+    public static final int CHUNKS = WIDTH * WIDTH;
 
     private int centerX, centerZ;
     private int minX, minZ;
@@ -52,4 +55,24 @@ public class TemplateRegion {
     public boolean containsChunk(IWorld world, int cx, int cz) {
         return cx >= minX && cx <= maxX && cz >= minZ && cz <= maxZ;
     }
+
+    /**
+     * @return the index (0 to CHUNKS - 1) of the chunk containing the block coordinates, or -1 if outside the region
+     */
+    public int indexOf(int blockX, int blockZ) {
+        int cx = blockX >> 4;
+        int cz = blockZ >> 4;
+        if (cx < minX || cx > maxX || cz < minZ || cz > maxZ) {
+            return -1;
+        }
+        return (cz - minZ) * WIDTH + (cx - minX);
+    }
+
+    public int getChunkX(int index) {
+        return minX + (index % WIDTH);
+    }
+
+    public int getChunkZ(int index) {
+        return minZ + (index / WIDTH);
+    }
 }
@@ -31,31 +31,70 @@ import net.minecraft.world.biome.Biome;
 
 import java.util.HashMap;
 import java.util.Map;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
 
+/**
+ * Surfaces may only be added/modified during setup. Once setup hooks have run the manager is frozen into an
+ * array indexed by biome id so that lookups from the (multi-threaded) surface pass do not need to synchronize.
+ */
 public class SurfaceManager {
 
     private final TFBiomeContext context;
-    private final ReadWriteLock lock = new ReentrantReadWriteLock();
     private final Map<Biome, Surface> surfaces = new HashMap<>();
 
+    private volatile Surface[] frozen = null;
+
     public SurfaceManager(TFBiomeContext context) {
         this.context = context;
     }
 
+    public boolean isFrozen() {
+        return frozen != null;
+    }
+
+    public SurfaceManager freeze() {
+        synchronized (surfaces) {
+            if (frozen != null) {
+                return this;
+            }
+
+            int size = 0;
+            for (Biome biome : context.biomes) {
+                size = Math.max(size, context.biomes.getId(biome) + 1);
+            }
+
+            Surface[] array = new Surface[size];
+            for (Biome biome : context.biomes) {
+                array[context.biomes.getId(biome)] = getOrCreateSurface(biome);
+            }
+
+            frozen = array;
+            return this;
+        }
+    }
+
     public Surface getSurface(Biome biome) {
-        lock.readLock().lock();
-        Surface surface = surfaces.get(biome);
-        lock.readLock().unlock();
-        return surface;
+        Surface[] array = frozen;
+        if (array != null) {
+            int id = context.biomes.getId(biome);
+            if (id >= 0 && id < array.length) {
+                return array[id];
+            }
+            // not a registered biome - the map is no longer modified so can be read without locking
+            return surfaces.get(biome);
+        }
+
+        synchronized (surfaces) {
+            return surfaces.get(biome);
+        }
     }
 
     public Surface getOrCreateSurface(Biome biome) {
         Surface surface = getSurface(biome);
         if (surface == null) {
             surface = Delegate.FUNC.apply(biome);
-            replace(biome, surface);
+            if (!isFrozen()) {
+                replace(biome, surface);
+            }
         }
         return surface;
     }
@@ -65,10 +104,13 @@ public class SurfaceManager {
     }
 
     public final SurfaceManager replace(Biome biome, Surface surface) {
-        lock.writeLock().lock();
-        surfaces.put(biome, surface);
-        lock.writeLock().unlock();
-        return this;
+        synchronized (surfaces) {
+            if (frozen != null) {
+                throw new IllegalStateException("Cannot modify surfaces after the SurfaceManager has been frozen");
+            }
+            surfaces.put(biome, surface);
+            return this;
+        }
     }
 
     @SafeVarargs
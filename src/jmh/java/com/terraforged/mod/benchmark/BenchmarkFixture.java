@@ -0,0 +1,103 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 TerraForged
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.terraforged.mod.benchmark;
+
+import com.terraforged.engine.tile.chunk.ChunkReader;
+import com.terraforged.mod.biome.context.TFBiomeContext;
+import com.terraforged.mod.biome.provider.TFBiomeProvider;
+import com.terraforged.mod.chunk.TFChunkGenerator;
+import com.terraforged.mod.chunk.TerraContext;
+import com.terraforged.mod.chunk.settings.TerraSettings;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.registry.Bootstrap;
+import net.minecraft.util.registry.DynamicRegistries;
+import net.minecraft.util.registry.Registry;
+import net.minecraft.world.chunk.ChunkPrimer;
+import net.minecraft.world.chunk.UpgradeData;
+import net.minecraft.world.gen.DimensionSettings;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Creates a TerraForged chunk generator over the builtin (vanilla) registries for a fixed seed. Benchmarks
+ * generate into synthetic ChunkPrimers so that no server/world needs to be running.
+ */
+@State(Scope.Benchmark)
+public class BenchmarkFixture {
+
+    // number of chunks along each axis of the benchmarked area
+    public static final int AREA = 4;
+
+    @Param({"12345"})
+    public long seed;
+
+    public TFChunkGenerator generator;
+    public ChunkPos[] chunks;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        generator = createGenerator(TerraSettings.defaults(seed));
+
+        chunks = new ChunkPos[AREA * AREA];
+        for (int z = 0; z < AREA; z++) {
+            for (int x = 0; x < AREA; x++) {
+                chunks[z * AREA + x] = new ChunkPos(x, z);
+            }
+        }
+
+        // generate the backing tiles up front so that benchmarks don't measure heightmap generation
+        for (ChunkPos pos : chunks) {
+            try (ChunkReader reader = generator.getChunkReader(pos)) {
+                reader.getCell(0, 0);
+            }
+        }
+    }
+
+    public static TFChunkGenerator createGenerator(TerraSettings settings) {
+        Bootstrap.register();
+
+        DynamicRegistries.Impl registries = DynamicRegistries.func_239770_b_();
+        Registry<DimensionSettings> dimSettings = registries.getRegistry(Registry.NOISE_SETTINGS_KEY);
+
+        TerraContext context = new TerraContext(settings, new TFBiomeContext(registries));
+        TFBiomeProvider biomeProvider = new TFBiomeProvider(context);
+        return new TFChunkGenerator(biomeProvider, () -> dimSettings.getOrThrow(DimensionSettings.field_242734_c));
+    }
+
+    public ChunkReader getChunkReader(ChunkPos pos) {
+        return generator.getChunkReader(pos);
+    }
+
+    public ChunkPrimer[] createChunks() {
+        ChunkPrimer[] primers = new ChunkPrimer[chunks.length];
+        for (int i = 0; i < chunks.length; i++) {
+            primers[i] = new ChunkPrimer(chunks[i], UpgradeData.EMPTY);
+        }
+        return primers;
+    }
+}
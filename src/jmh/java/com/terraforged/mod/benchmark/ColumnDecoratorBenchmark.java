@@ -0,0 +1,135 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 TerraForged
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.terraforged.mod.benchmark;
+
+import com.terraforged.engine.tile.chunk.ChunkReader;
+import com.terraforged.engine.world.climate.Climate;
+import com.terraforged.engine.world.heightmap.Levels;
+import com.terraforged.mod.api.biome.surface.SurfaceChunk;
+import com.terraforged.mod.api.chunk.column.ColumnDecorator;
+import com.terraforged.mod.api.chunk.column.DecoratorContext;
+import com.terraforged.mod.biome.TFBiomeContainer;
+import com.terraforged.mod.chunk.column.BaseGeoDecorator;
+import com.terraforged.mod.chunk.column.ColumnCache;
+import com.terraforged.mod.chunk.column.ErosionDecorator;
+import com.terraforged.mod.chunk.generator.BaseGenerator;
+import com.terraforged.mod.chunk.util.FastChunk;
+import net.minecraft.world.ISeedReader;
+import net.minecraft.world.chunk.ChunkPrimer;
+import net.minecraft.world.chunk.IChunk;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Individual column decorators run over chunks that already contain the base terrain
+ */
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ColumnDecoratorBenchmark {
+
+    private Levels levels;
+    private Climate climate;
+    private BaseGenerator terrain;
+    private ColumnDecorator strata;
+    private ColumnDecorator erosion;
+
+    private ChunkPrimer[] chunks;
+    private TFBiomeContainer[] containers;
+
+    @Setup(Level.Trial)
+    public void setup(BenchmarkFixture fixture) {
+        levels = fixture.generator.getContext().levels;
+        climate = fixture.generator.getContext().worldGenerator.get().getClimate();
+        terrain = new BaseGenerator(fixture.generator);
+        strata = new BaseGeoDecorator(fixture.generator);
+        erosion = new ErosionDecorator(fixture.generator.getContext());
+    }
+
+    @Setup(Level.Invocation)
+    public void reset(BenchmarkFixture fixture) {
+        chunks = fixture.createChunks();
+        containers = new TFBiomeContainer[chunks.length];
+
+        ISeedReader world = SyntheticWorld.create(fixture.seed, chunks);
+        for (int i = 0; i < chunks.length; i++) {
+            terrain.generateTerrain(world, chunks[i], null);
+            try (ChunkReader reader = fixture.getChunkReader(fixture.chunks[i])) {
+                containers[i] = TFBiomeContainer.getOrCreate(chunks[i], reader, fixture.generator.getBiomeProvider());
+            }
+        }
+    }
+
+    @Benchmark
+    public void strata(BenchmarkFixture fixture, Blackhole blackhole) {
+        for (int i = 0; i < chunks.length; i++) {
+            IChunk chunk = FastChunk.wrap(chunks[i]);
+            decorate(fixture, i, chunk, (ctx, x, y, z) -> strata.decorate(ctx.chunk, ctx, x, y, z));
+        }
+        blackhole.consume(chunks);
+    }
+
+    @Benchmark
+    public void erosion(BenchmarkFixture fixture, Blackhole blackhole) {
+        for (int i = 0; i < chunks.length; i++) {
+            SurfaceChunk buffer = new SurfaceChunk(chunks[i]);
+            decorate(fixture, i, buffer, (ctx, x, y, z) -> erosion.decorate(buffer, ctx, x, y, z));
+        }
+        blackhole.consume(chunks);
+    }
+
+    private void decorate(BenchmarkFixture fixture, int index, IChunk chunk, ColumnVisitor visitor) {
+        TFBiomeContainer container = containers[index];
+        ColumnCache columns = container.getColumns();
+        try (ChunkReader reader = fixture.getChunkReader(fixture.chunks[index]);
+             DecoratorContext context = new DecoratorContext(chunk, levels, climate)) {
+            reader.iterate(context, (cell, dx, dz, ctx) -> {
+                ctx.cell = cell;
+                ctx.biome = container.getBiome(dx, dz);
+                visitor.visit(ctx, ctx.blockX + dx, columns.getHeight(dx, dz), ctx.blockZ + dz);
+            });
+        }
+    }
+
+    private interface ColumnVisitor {
+
+        void visit(DecoratorContext context, int x, int y, int z);
+    }
+}
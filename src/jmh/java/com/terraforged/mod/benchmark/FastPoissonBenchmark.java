@@ -0,0 +1,89 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 TerraForged
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.terraforged.mod.benchmark;
+
+import com.terraforged.engine.util.fastpoisson.FastPoisson;
+import com.terraforged.engine.util.fastpoisson.FastPoissonContext;
+import com.terraforged.noise.Source;
+import net.minecraft.util.math.ChunkPos;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Poisson-disc position sampling as used by the fast_poisson decorators, with uniform density
+ */
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FastPoissonBenchmark {
+
+    private static final FastPoisson.Visitor<Blackhole> VISITOR = (x, z, blackhole) -> blackhole.consume(x ^ z);
+
+    @Param({"4", "8"})
+    public int radius;
+
+    @Param({"0.8"})
+    public float jitter;
+
+    @Param({"150"})
+    public float scale;
+
+    private int seed;
+    private Random random;
+    private FastPoissonContext context;
+
+    @Setup(Level.Trial)
+    public void setup(BenchmarkFixture fixture) {
+        seed = (int) fixture.seed;
+        random = new Random(fixture.seed);
+        context = new FastPoissonContext(radius, jitter, scale, Source.ONE);
+    }
+
+    @Benchmark
+    public void visit(BenchmarkFixture fixture, Blackhole blackhole) {
+        FastPoisson poisson = FastPoisson.LOCAL_POISSON.get();
+        for (ChunkPos pos : fixture.chunks) {
+            random.setSeed(pos.asLong() ^ seed);
+            poisson.visit(seed, pos.x, pos.z, random, context, blackhole, VISITOR);
+        }
+    }
+}
@@ -0,0 +1,243 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 TerraForged
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.terraforged.mod.benchmark;
+
+import com.electronwill.nightconfig.core.CommentedConfig;
+import com.terraforged.mod.chunk.TFChunkGenerator;
+import com.terraforged.mod.chunk.settings.TerraSettings;
+import com.terraforged.mod.chunk.settings.preset.Preset;
+import com.terraforged.mod.chunk.settings.preset.PresetManager;
+import com.terraforged.mod.config.ConfigManager;
+import com.terraforged.mod.config.PerfDefaults;
+import com.terraforged.mod.profiler.Profiler;
+import com.terraforged.mod.profiler.ProfilerPrinter;
+import com.terraforged.mod.profiler.crash.CrashHandler;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.ISeedReader;
+import net.minecraft.world.biome.BiomeManager;
+import net.minecraft.world.biome.ColumnFuzzedBiomeMagnifier;
+import net.minecraft.world.chunk.ChunkPrimer;
+import net.minecraft.world.chunk.UpgradeData;
+import net.minecraft.world.gen.GenerationStage;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Headless pregeneration driver. Generates an NxN chunk area (centered on 0,0) into synthetic chunks using the
+ * given number of threads and reports throughput, per-stage latency (from the Profiler) and allocation rate.
+ *
+ * Usage: gradlew pregenBenchmark -Ppregen.args="--size 64 --threads 8 --tile_size 3 --batch_count 6"
+ *
+ * Options: --size, --threads, --seed, --preset, and the performance settings --tile_size, --batch_count,
+ * --thread_count and --batching which are written to the performance config in the working directory (run/pregen)
+ * before the generator is created. Unspecified performance settings are reset to their defaults.
+ *
+ * Only the chunk-local stages (biomes, terrain, surface and carvers) are run. Structures, features and mob
+ * spawns require a server world so are not measured.
+ */
+public class PregenBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        int size = Integer.parseInt(options.getOrDefault("size", "32"));
+        int threads = Integer.parseInt(options.getOrDefault("threads", "" + Runtime.getRuntime().availableProcessors()));
+        long seed = Long.parseLong(options.getOrDefault("seed", "12345"));
+
+        applyPerfOptions(options);
+        TerraSettings settings = PresetManager.getPreset(options.get("preset"))
+                .map(preset -> preset.getSettings(seed))
+                .orElseGet(() -> TerraSettings.defaults(seed));
+
+        TFChunkGenerator generator = BenchmarkFixture.createGenerator(settings);
+
+        AtomicLong failures = new AtomicLong();
+        CrashHandler.INSTANCE.set((chunk, gen, t) -> {
+            failures.incrementAndGet();
+            t.printStackTrace();
+        });
+
+        Profiler.reset();
+        long start = System.nanoTime();
+        long allocated = run(generator, size, threads, seed);
+        long duration = System.nanoTime() - start;
+
+        report(options, size, threads, duration, allocated, failures.get());
+
+        System.exit(0);
+    }
+
+    // returns the number of bytes allocated during the run, or -1 if not supported
+    private static long run(TFChunkGenerator generator, int size, int threads, long seed) throws InterruptedException {
+        int min = -size / 2;
+        int total = size * size;
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger queued = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(threads);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        // start the workers before taking the allocation baseline so that their threads are counted
+        executor.invokeAll(Collections.nCopies(threads, Executors.callable(() -> {})));
+        Allocations allocations = new Allocations();
+
+        for (int i = 0; i < threads; i++) {
+            executor.execute(() -> {
+                try {
+                    int index;
+                    while ((index = next.getAndIncrement()) < total) {
+                        // queue tiles one row ahead, as the structure-starts stage would on a server
+                        queueAhead(generator, queued, Math.min(total, index + size), min, size);
+
+                        ChunkPos pos = new ChunkPos(min + (index % size), min + (index / size));
+                        generate(generator, pos, seed);
+                    }
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+
+        // measure allocations before the workers are shut down, otherwise their counts are lost
+        done.await();
+        long allocated = allocations.sinceStart();
+        executor.shutdown();
+        return allocated;
+    }
+
+    private static void queueAhead(TFChunkGenerator generator, AtomicInteger queued, int target, int min, int size) {
+        int index;
+        while ((index = queued.get()) < target) {
+            if (queued.compareAndSet(index, index + 1)) {
+                generator.queueChunk(min + (index % size), min + (index / size));
+            }
+        }
+    }
+
+    private static void generate(TFChunkGenerator generator, ChunkPos pos, long seed) {
+        ChunkPrimer chunk = new ChunkPrimer(pos, UpgradeData.EMPTY);
+        ISeedReader world = SyntheticWorld.create(seed, chunk);
+
+        generator.func_242706_a(null, chunk);
+        generator.func_230352_b_(world, null, chunk);
+        generator.generateSurface(null, chunk);
+
+        BiomeManager biomes = new BiomeManager(chunk.getBiomes(), seed, ColumnFuzzedBiomeMagnifier.INSTANCE);
+        generator.func_230350_a_(seed, biomes, chunk, GenerationStage.Carving.AIR);
+        generator.func_230350_a_(seed, biomes, chunk, GenerationStage.Carving.LIQUID);
+    }
+
+    private static void report(Map<String, String> options, int size, int threads, long duration, long allocated, long failures) throws IOException {
+        double seconds = duration / 1_000_000_000.0;
+        int chunks = size * size;
+        CommentedConfig perf = ConfigManager.PERFORMANCE.get();
+
+        Writer writer = new OutputStreamWriter(System.out);
+        writer.append("\n=== Pregeneration Benchmark ===");
+        writer.append(String.format("\nArea: %sx%s chunks (%s), Threads: %s, Preset: %s", size, size, chunks, threads, options.getOrDefault("preset", Preset.DEFAULT_NAME)));
+        writer.append(String.format("\nTile Size: %s, Batch Count: %s, Tile Threads: %s, Batching: %s",
+                perf.get("tile_size"), perf.get("batch_count"), perf.get("thread_count"), perf.get("batching")));
+        writer.append(String.format("\nTime: %.2fs, Throughput: %.2f chunks/s, Failures: %s", seconds, chunks / seconds, failures));
+        if (allocated >= 0) {
+            writer.append(String.format("\nAllocated: %.1fMB (%.1fMB/s)", allocated / 1048576.0, allocated / 1048576.0 / seconds));
+        } else {
+            writer.append("\nAllocated: unsupported by this JVM");
+        }
+        writer.append("\n\n");
+        ProfilerPrinter.print(writer);
+        writer.append("\n");
+        writer.flush();
+    }
+
+    // the perf config is re-read from disk whenever it's accessed so overrides must be saved. Options that aren't
+    // specified are reset to their defaults so that each run is independent of the previous one
+    private static void applyPerfOptions(Map<String, String> options) {
+        ConfigManager.PERFORMANCE.set(config -> {
+            config.set("tile_size", Integer.parseInt(options.getOrDefault("tile_size", "" + PerfDefaults.TILE_SIZE)));
+            config.set("batch_count", Integer.parseInt(options.getOrDefault("batch_count", "" + PerfDefaults.BATCH_COUNT)));
+            config.set("thread_count", Integer.parseInt(options.getOrDefault("thread_count", "" + PerfDefaults.THREAD_COUNT)));
+            config.set("batching", Boolean.parseBoolean(options.getOrDefault("batching", "" + PerfDefaults.BATCHING)));
+        });
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Expected an option but got: " + args[i]);
+            }
+            options.put(args[i].substring(2), args[i + 1]);
+        }
+        return options;
+    }
+
+    // Sums the bytes allocated by all live threads (including the tile generator's pool). Threads that terminate
+    // during the run are not counted so this is a lower bound.
+    private static class Allocations {
+
+        private final Map<Long, Long> start = new HashMap<>();
+        private final com.sun.management.ThreadMXBean bean;
+
+        private Allocations() {
+            ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+            if (bean instanceof com.sun.management.ThreadMXBean && ((com.sun.management.ThreadMXBean) bean).isThreadAllocatedMemorySupported()) {
+                this.bean = (com.sun.management.ThreadMXBean) bean;
+                this.bean.setThreadAllocatedMemoryEnabled(true);
+                long[] ids = bean.getAllThreadIds();
+                long[] bytes = this.bean.getThreadAllocatedBytes(ids);
+                for (int i = 0; i < ids.length; i++) {
+                    start.put(ids[i], bytes[i]);
+                }
+            } else {
+                this.bean = null;
+            }
+        }
+
+        private long sinceStart() {
+            if (bean == null) {
+                return -1L;
+            }
+            long total = 0L;
+            long[] ids = bean.getAllThreadIds();
+            long[] bytes = bean.getThreadAllocatedBytes(ids);
+            for (int i = 0; i < ids.length; i++) {
+                if (bytes[i] > 0) {
+                    total += bytes[i] - start.getOrDefault(ids[i], 0L);
+                }
+            }
+            return total;
+        }
+    }
+}
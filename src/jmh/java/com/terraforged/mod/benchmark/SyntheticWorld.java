@@ -0,0 +1,120 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 TerraForged
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.terraforged.mod.benchmark;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.block.BlockState;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.EmptyTickList;
+import net.minecraft.world.ISeedReader;
+import net.minecraft.world.chunk.ChunkPrimer;
+import net.minecraft.world.chunk.IChunk;
+import net.minecraft.world.chunk.UpgradeData;
+import net.minecraft.world.gen.Heightmap;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+/**
+ * A minimal world backed by ChunkPrimers. Only the handful of methods used by the benchmarked code paths
+ * (block/fluid access, heightmaps and tick lists) are implemented - anything else throws.
+ */
+public class SyntheticWorld implements InvocationHandler {
+
+    private final long seed;
+    private final Long2ObjectMap<IChunk> chunks = new Long2ObjectOpenHashMap<>();
+
+    private SyntheticWorld(long seed, IChunk[] chunks) {
+        this.seed = seed;
+        for (IChunk chunk : chunks) {
+            this.chunks.put(chunk.getPos().asLong(), chunk);
+        }
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) {
+        switch (method.getName()) {
+            case "getChunk":
+                if (args[0] instanceof BlockPos) {
+                    return getChunk((BlockPos) args[0]);
+                }
+                return getChunk((int) args[0], (int) args[1]);
+            case "getBlockState":
+                return getChunk((BlockPos) args[0]).getBlockState((BlockPos) args[0]);
+            case "getFluidState":
+                return getChunk((BlockPos) args[0]).getFluidState((BlockPos) args[0]);
+            case "setBlockState":
+                getChunk((BlockPos) args[0]).setBlockState((BlockPos) args[0], (BlockState) args[1], false);
+                return true;
+            case "getHeight":
+                if (args == null) {
+                    return 256;
+                }
+                int x = (int) args[1];
+                int z = (int) args[2];
+                return getChunk(x >> 4, z >> 4).getTopBlockY((Heightmap.Type) args[0], x & 15, z & 15) + 1;
+            case "getSeaLevel":
+                return 63;
+            case "getSeed":
+                return seed;
+            case "getPendingBlockTicks":
+            case "getPendingFluidTicks":
+                return EmptyTickList.get();
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "equals":
+                return proxy == args[0];
+            case "toString":
+                return "SyntheticWorld";
+            default:
+                throw new UnsupportedOperationException(method.toString());
+        }
+    }
+
+    private IChunk getChunk(BlockPos pos) {
+        return getChunk(pos.getX() >> 4, pos.getZ() >> 4);
+    }
+
+    private IChunk getChunk(int chunkX, int chunkZ) {
+        long key = ChunkPos.asLong(chunkX, chunkZ);
+        IChunk chunk = chunks.get(key);
+        if (chunk == null) {
+            chunk = new ChunkPrimer(new ChunkPos(chunkX, chunkZ), UpgradeData.EMPTY);
+            chunks.put(key, chunk);
+        }
+        return chunk;
+    }
+
+    public static ISeedReader create(long seed, IChunk... chunks) {
+        return (ISeedReader) Proxy.newProxyInstance(
+                SyntheticWorld.class.getClassLoader(),
+                new Class<?>[]{ISeedReader.class},
+                new SyntheticWorld(seed, chunks)
+        );
+    }
+}
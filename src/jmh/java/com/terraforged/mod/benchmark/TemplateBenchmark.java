@@ -0,0 +1,136 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 TerraForged
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.terraforged.mod.benchmark;
+
+import com.terraforged.mod.featuremanager.template.feature.Placement;
+import com.terraforged.mod.featuremanager.template.paste.PasteConfig;
+import com.terraforged.mod.featuremanager.template.template.BlockInfo;
+import com.terraforged.mod.featuremanager.template.template.Template;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.util.Mirror;
+import net.minecraft.util.Rotation;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.ISeedReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pastes a synthetic tree-like template (dirt base, log trunk, leaf canopy) into empty chunks
+ */
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TemplateBenchmark {
+
+    private static final int RADIUS = 4;
+    private static final int HEIGHT = 8;
+    private static final int PASTE_Y = 70;
+
+    @Param({"false", "true"})
+    public boolean checkBounds;
+
+    @Param({"false", "true"})
+    public boolean updatePostPaste;
+
+    @Param({"NONE", "CLOCKWISE_90"})
+    public Rotation rotation;
+
+    private Template template;
+    private PasteConfig config;
+    private BlockPos[] origins;
+    private ISeedReader world;
+
+    @Setup(Level.Trial)
+    public void setup(BenchmarkFixture fixture) {
+        template = createTemplate();
+        config = new PasteConfig(4, false, checkBounds, false, updatePostPaste);
+
+        // paste into the inner chunks so that each paste region is covered by the fixture's chunks
+        List<BlockPos> list = new ArrayList<>();
+        for (int cz = 1; cz < BenchmarkFixture.AREA - 1; cz++) {
+            for (int cx = 1; cx < BenchmarkFixture.AREA - 1; cx++) {
+                list.add(new BlockPos((cx << 4) + 8, PASTE_Y, (cz << 4) + 8));
+            }
+        }
+        origins = list.toArray(new BlockPos[0]);
+    }
+
+    @Setup(Level.Invocation)
+    public void reset(BenchmarkFixture fixture) {
+        world = SyntheticWorld.create(fixture.seed, fixture.createChunks());
+    }
+
+    @Benchmark
+    public void paste(Blackhole blackhole) {
+        for (BlockPos origin : origins) {
+            blackhole.consume(template.paste(world, origin, Mirror.NONE, rotation, Placement.ANY, config));
+        }
+    }
+
+    private static Template createTemplate() {
+        BlockState dirt = Blocks.DIRT.getDefaultState();
+        BlockState log = Blocks.OAK_LOG.getDefaultState();
+        BlockState leaves = Blocks.OAK_LEAVES.getDefaultState();
+
+        List<BlockInfo> blocks = new ArrayList<>();
+        for (int y = 0; y <= HEIGHT + RADIUS; y++) {
+            for (int z = -RADIUS; z <= RADIUS; z++) {
+                for (int x = -RADIUS; x <= RADIUS; x++) {
+                    BlockPos pos = new BlockPos(x, y, z);
+                    if (y == 0) {
+                        blocks.add(new BlockInfo(pos, dirt));
+                    } else if (x == 0 && z == 0 && y <= HEIGHT) {
+                        blocks.add(new BlockInfo(pos, log));
+                    } else if (y >= HEIGHT - RADIUS) {
+                        int dy = y - HEIGHT;
+                        if (x * x + dy * dy + z * z <= RADIUS * RADIUS) {
+                            blocks.add(new BlockInfo(pos, leaves));
+                        }
+                    }
+                }
+            }
+        }
+        return new Template(blocks);
+    }
+}
@@ -28,6 +28,7 @@ import com.terraforged.engine.Engine;
 import com.terraforged.engine.concurrent.task.LazySupplier;
 import com.terraforged.mod.api.material.WGTags;
 import com.terraforged.mod.config.ConfigManager;
+import com.terraforged.mod.featuremanager.template.template.TemplateCache;
 import com.terraforged.mod.server.command.TerraCommand;
 import com.terraforged.mod.util.DataUtils;
 import com.terraforged.mod.util.Environment;
@@ -50,6 +51,7 @@ public class TerraForgedMod {
     public static final File CONFIG_DIR = new File("config", MODID).getAbsoluteFile();
     public static final File PRESETS_DIR = new File(CONFIG_DIR, "presets");
     public static final File DATAPACK_DIR = new File(CONFIG_DIR, "datapacks");
+    public static final File CACHE_DIR = new File(CONFIG_DIR, "cache");
     private static final Supplier<String> VERSION = LazySupplier.of(() -> ModList.get().getModContainerById(MODID)
             .map(mod -> mod.getModInfo().getVersion().toString())
             .orElse("unknown"));
@@ -69,6 +71,7 @@ public class TerraForgedMod {
         DataUtils.initDirs(PRESETS_DIR, DATAPACK_DIR);
         TerraCommand.init();
         ConfigManager.init();
+        TemplateCache.setDirectory(ConfigManager.GENERAL.getBool(ConfigManager.TEMPLATE_CACHE_KEY, true) ? CACHE_DIR : null);
         event.enqueueWork(() -> {
             RegistrationEvents.registerCodecs();
             RegistrationEvents.registerMissingBiomeTypes();
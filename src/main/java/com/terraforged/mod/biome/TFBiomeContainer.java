@@ -27,8 +27,10 @@ package com.terraforged.mod.biome;
 import com.terraforged.engine.cell.Cell;
 import com.terraforged.engine.tile.chunk.ChunkReader;
 import com.terraforged.engine.util.pos.PosIterator;
+import com.terraforged.engine.world.heightmap.Levels;
 import com.terraforged.mod.biome.context.TFBiomeContext;
 import com.terraforged.mod.biome.provider.TFBiomeProvider;
+import com.terraforged.mod.chunk.column.ColumnCache;
 import com.terraforged.mod.chunk.util.FastChunk;
 import com.terraforged.noise.source.Line;
 import net.minecraft.util.math.MathHelper;
@@ -37,6 +39,8 @@ import net.minecraft.world.biome.BiomeContainer;
 import net.minecraft.world.chunk.ChunkPrimer;
 import net.minecraft.world.chunk.IChunk;
 
+import java.util.Arrays;
+
 public class TFBiomeContainer extends BiomeContainer {
 
     private static final int BITS_WIDTH = (int) Math.round(Math.log(16.0D) / Math.log(2.0D)) - 2;
@@ -46,35 +50,53 @@ public class TFBiomeContainer extends BiomeContainer {
     public static final int MASK_HORIZ = (1 << BITS_WIDTH) - 1;
     public static final int MASK_VERT = (1 << ZOOM_VERT) - 1;
 
+    private static final int LAYER_SIZE = 1 << BITS_WIDTH + BITS_WIDTH;
+    private static final int LAYER_COUNT = BIOMES_3D_SIZE / LAYER_SIZE;
+
     private final Biome[] biomes;
-    private final Biome[] surface;
+    private final Biome[] palette;
+    private final byte[] surface;
     private final Biome featureBiome;
+    private final ColumnCache columns;
 
-    public TFBiomeContainer(Biome[] biomes, Biome[] surface, Biome feature, TFBiomeContext context) {
+    public TFBiomeContainer(Biome[] biomes, Biome[] palette, byte[] surface, Biome feature, ColumnCache columns, TFBiomeContext context) {
         super(context.biomes.getRegistry(), biomes);
         this.biomes = biomes;
+        this.palette = palette;
         this.surface = surface;
         this.featureBiome = feature;
+        this.columns = columns;
     }
 
     public Biome getBiome(int x, int z) {
         x &= 15;
         z &= 15;
-        return surface[z * 16 + x];
+        return palette[surface[z * 16 + x] & 0xFF];
     }
 
     public Biome getFeatureBiome() {
         return featureBiome;
     }
 
+    public ColumnCache getColumns() {
+        return columns;
+    }
+
     public BiomeContainer bakeBiomes(boolean convertToVanilla, TFBiomeContext context) {
         if (convertToVanilla) {
-            Biome[] biomeArray = new Biome[biomes.length];
-            for (int i = 0; i < biomes.length; i++) {
-                Biome biome = biomes[i];
-                biome = ModBiomes.remap(biome, context);
-                biomeArray[i] = biome;
+            // remap each palette entry once rather than every cell of the 3d array
+            Biome[] remapped = new Biome[palette.length];
+            for (int i = 0; i < palette.length; i++) {
+                remapped[i] = ModBiomes.remap(palette[i], context);
             }
+
+            Biome[] biomeArray = new Biome[BIOMES_3D_SIZE];
+            for (int z = 0; z <= MASK_HORIZ; z++) {
+                for (int x = 0; x <= MASK_HORIZ; x++) {
+                    biomeArray[indexOf(x, 0, z)] = remapped[surface[indexOf(x << 2, z << 2)] & 0xFF];
+                }
+            }
+            fillLayers(biomeArray);
             return new BiomeContainer(context.biomes.getRegistry(), biomeArray);
         }
         return new BiomeContainer(context.biomes.getRegistry(), biomes);
@@ -108,8 +130,13 @@ public class TFBiomeContainer extends BiomeContainer {
     public static TFBiomeContainer create(ChunkReader chunkReader, TFBiomeProvider biomeProvider) {
         Biome feature = null;
         float featureDist2 = Integer.MAX_VALUE;
-        Biome[] biomes2D = new Biome[BIOMES_2D_SIZE];
+        Biome[] palette = new Biome[8];
+        int paletteSize = 0;
+        int paletteIndex = -1;
+        byte[] biomes2D = new byte[BIOMES_2D_SIZE];
         Biome[] biomes3D = new Biome[BIOMES_3D_SIZE];
+        ColumnCache columns = new ColumnCache();
+        Levels levels = biomeProvider.getContext().levels;
         PosIterator iterator = PosIterator.area(0, 0, 16, 16);
         while (iterator.next()) {
             int dx = iterator.x();
@@ -118,7 +145,21 @@ public class TFBiomeContainer extends BiomeContainer {
             int z = chunkReader.getBlockZ() + dz;
             Cell cell = chunkReader.getCell(dx, dz);
             Biome biome = biomeProvider.getBiome(cell, x, z);
-            biomes2D[indexOf(dx, dz)] = biome;
+
+            // neighbouring cells usually share a biome so check the previous entry before searching the palette
+            if (paletteIndex == -1 || palette[paletteIndex] != biome) {
+                paletteIndex = indexOf(palette, paletteSize, biome);
+                if (paletteIndex == -1) {
+                    if (paletteSize == palette.length) {
+                        palette = Arrays.copyOf(palette, paletteSize * 2);
+                    }
+                    paletteIndex = paletteSize++;
+                    palette[paletteIndex] = biome;
+                }
+            }
+
+            biomes2D[indexOf(dx, dz)] = (byte) paletteIndex;
+            columns.record(dx, dz, cell, levels);
 
             if (cell.biome.isExtreme()) {
                 float dist2 = Line.dist2(dx, dz, 8, 8);
@@ -129,15 +170,34 @@ public class TFBiomeContainer extends BiomeContainer {
             }
 
             if ((dx & 3) == 0 && (dz & 3) == 0) {
-                for (int dy = 0; dy < 64; dy++) {
-                    biomes3D[indexOf(dx >> 2, dy, dz >> 2)] = biome;
-                }
+                biomes3D[indexOf(dx >> 2, 0, dz >> 2)] = biome;
             }
         }
+
+        // every vertical layer is identical so copy the first layer up through the column
+        fillLayers(biomes3D);
+
         if (feature == null) {
-            feature = biomes2D[indexOf(8, 8)];
+            feature = palette[biomes2D[indexOf(8, 8)] & 0xFF];
+        }
+
+        palette = Arrays.copyOf(palette, paletteSize);
+        return new TFBiomeContainer(biomes3D, palette, biomes2D, feature, columns, biomeProvider.getContext().biomeContext);
+    }
+
+    private static void fillLayers(Biome[] biomes) {
+        for (int layer = 1; layer < LAYER_COUNT; layer++) {
+            System.arraycopy(biomes, 0, biomes, layer * LAYER_SIZE, LAYER_SIZE);
+        }
+    }
+
+    private static int indexOf(Biome[] palette, int size, Biome biome) {
+        for (int i = 0; i < size; i++) {
+            if (palette[i] == biome) {
+                return i;
+            }
         }
-        return new TFBiomeContainer(biomes3D, biomes2D, feature, biomeProvider.getContext().biomeContext);
+        return -1;
     }
 
     private static int indexOf(int x, int z) {
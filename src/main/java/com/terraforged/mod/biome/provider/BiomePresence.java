@@ -0,0 +1,119 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 TerraForged
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.terraforged.mod.biome.provider;
+
+import com.terraforged.engine.cell.Cell;
+import com.terraforged.engine.concurrent.Resource;
+import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
+
+import java.util.BitSet;
+
+/**
+ * A lazily populated summary of the biomes present in each 512x512 block region of the world, used by
+ * /terra locate biome searches to skip regions that cannot contain the biome they are looking for.
+ *
+ * Regions are summarised with the same cell lookup, and on the same (world-aligned) grid, as the positions those
+ * searches probe, so building a region's summary costs about as much as searching it once, and a region is only
+ * skipped if none of its probes could have matched. It is not conservative for positions off that grid, or for the
+ * fast lookup, so must not be used to reject those. The summary is a pure function of the seed/settings and is
+ * bounded to a fixed number of regions (least-recently used first).
+ */
+public class BiomePresence {
+
+    public static final int REGION_SHIFT = 9;
+    public static final int REGION_SIZE = 1 << REGION_SHIFT;
+
+    public static final int SAMPLE_SPACING = 8;
+    private static final int CAPACITY = 1024;
+
+    private final TFBiomeProvider biomeProvider;
+    private final Long2ObjectLinkedOpenHashMap<BitSet> regions = new Long2ObjectLinkedOpenHashMap<>(CAPACITY);
+
+    public BiomePresence(TFBiomeProvider biomeProvider) {
+        this.biomeProvider = biomeProvider;
+    }
+
+    public boolean mayContain(int x, int z, int biomeId) {
+        return getRegion(x, z).get(biomeId);
+    }
+
+    private BitSet getRegion(int x, int z) {
+        long key = regionKey(x, z);
+        BitSet region = get(key);
+        if (region == null) {
+            region = summarise((x >> REGION_SHIFT) << REGION_SHIFT, (z >> REGION_SHIFT) << REGION_SHIFT);
+            region = put(key, region);
+        }
+        return region;
+    }
+
+    private BitSet summarise(int startX, int startZ) {
+        BitSet region = new BitSet();
+        try (Resource<Cell> resource = Cell.pooled()) {
+            Cell cell = resource.get();
+            for (int dz = 0; dz < REGION_SIZE; dz += SAMPLE_SPACING) {
+                for (int dx = 0; dx < REGION_SIZE; dx += SAMPLE_SPACING) {
+                    int x = startX + dx;
+                    int z = startZ + dz;
+                    biomeProvider.getWorldLookup().applyCell(cell, x, z);
+                    region.set(biomeProvider.getBiomeId(cell, x, z));
+                }
+            }
+        }
+        return region;
+    }
+
+    private BitSet get(long key) {
+        synchronized (regions) {
+            return regions.getAndMoveToLast(key);
+        }
+    }
+
+    private BitSet put(long key, BitSet region) {
+        synchronized (regions) {
+            BitSet existing = regions.getAndMoveToLast(key);
+            if (existing != null) {
+                return existing;
+            }
+            regions.putAndMoveToLast(key, region);
+            if (regions.size() > CAPACITY) {
+                regions.removeFirst();
+            }
+            return region;
+        }
+    }
+
+    public static long regionKey(int x, int z) {
+        return ((long) (x >> REGION_SHIFT) << 32) | ((z >> REGION_SHIFT) & 0xFFFFFFFFL);
+    }
+
+    public static boolean isSampled(int x, int z) {
+        return ((x | z) & (SAMPLE_SPACING - 1)) == 0;
+    }
+
+    public static int align(int coord) {
+        return coord & ~(SAMPLE_SPACING - 1);
+    }
+}
@@ -61,6 +61,7 @@ public class TFBiomeProvider extends BiomeProvider {
     private final long seed;
     private final TerraContext context;
     private final LazySupplier<BiomeResources> resources;
+    private final BiomePresence biomePresence;
 
     private final float biomeSearchModifier;
 
@@ -70,6 +71,7 @@ public class TFBiomeProvider extends BiomeProvider {
         this.seed = context.terraSettings.world.seed;
         this.resources = LazySupplier.factory(context.copy(), BiomeResources::new);
         this.biomeSearchModifier = BiomeHelper.getBiomeSizeSearchModifier(context.settings.climate);
+        this.biomePresence = new BiomePresence(this);
     }
 
     @Override
@@ -202,6 +204,10 @@ public class TFBiomeProvider extends BiomeProvider {
         return ColumnFuzzedBiomeMagnifier.INSTANCE.getBiome(seed, x, 0, z, reader);
     }
 
+    public BiomePresence getBiomePresence() {
+        return biomePresence;
+    }
+
     public WorldLookup getWorldLookup() {
         return getResources().worldLookup;
     }
@@ -219,6 +225,13 @@ public class TFBiomeProvider extends BiomeProvider {
     }
 
     public Biome getBiome(Cell cell, int x, int z) {
+        int biome = getBiomeId(cell, x, z);
+        Biome result = context.biomeContext.biomes.get(biome);
+        Preconditions.checkNotNull(result, "NULL BIOME D:");
+        return result;
+    }
+
+    public int getBiomeId(Cell cell, int x, int z) {
         BiomeResources resources = this.getResources();
         int biome = resources.biomemap.provideBiome(cell, context.levels);
         if (resources.modifierManager.hasModifiers(cell, context.levels)) {
@@ -227,9 +240,7 @@ public class TFBiomeProvider extends BiomeProvider {
                 biome = modified;
             }
         }
-        Biome result = context.biomeContext.biomes.get(biome);
-        Preconditions.checkNotNull(result, "NULL BIOME D:");
-        return result;
+        return biome;
     }
 
     public boolean canSpawnAt(Cell cell) {
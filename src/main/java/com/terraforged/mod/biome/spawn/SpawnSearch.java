@@ -45,6 +45,11 @@ public class SpawnSearch extends Search {
         return 64;
     }
 
+    @Override
+    public Search fork() {
+        return new SpawnSearch(getCenter(), biomeProvider);
+    }
+
     @Override
     public boolean test(BlockPos pos) {
         biomeProvider.getWorldLookup().applyCell(cell, pos.getX(), pos.getZ());
@@ -47,6 +47,8 @@ public class GeneratorResources {
     final SurfaceManager surfaceManager;
     final List<ColumnDecorator> surfaceDecorators;
     final List<ColumnDecorator> postProcessors;
+    final ColumnDecorator[] surfacePass;
+    final ColumnDecorator[] postProcessPass;
 
     public GeneratorResources(TFChunkGenerator generator, TerraContext context) {
         this.surfaceManager = SetupFactory.createSurfaceManager(context);
@@ -64,6 +66,10 @@ public class GeneratorResources {
         SetupHooks.setup(context.materials.get().layerManager, context);
         SetupHooks.setup(surfaceDecorators, postProcessors, context);
 
+        // flatten the decorator lists once setup hooks have run so the column passes iterate plain arrays
+        this.surfacePass = surfaceDecorators.toArray(new ColumnDecorator[0]);
+        this.postProcessPass = postProcessors.toArray(new ColumnDecorator[0]);
+
         this.tileCache = context.cache.get();
     }
 
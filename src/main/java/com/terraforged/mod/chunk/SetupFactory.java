@@ -160,7 +160,7 @@ public class SetupFactory {
                 Biomes.DARK_FOREST,
                 Biomes.DARK_FOREST_HILLS
         );
-        return SetupHooks.setup(manager, context);
+        return SetupHooks.setup(manager, context).freeze();
     }
 
     public static GeoManager createGeologyManager(TerraContext context) {
@@ -43,6 +43,7 @@ import com.terraforged.mod.api.material.layer.LayerManager;
 import com.terraforged.mod.biome.provider.TFBiomeProvider;
 import com.terraforged.mod.chunk.column.ColumnResource;
 import com.terraforged.mod.chunk.generator.*;
+import com.terraforged.mod.config.PerfTuner;
 import com.terraforged.mod.feature.BlockDataManager;
 import com.terraforged.mod.feature.structure.StructureLocator;
 import com.terraforged.mod.featuremanager.FeatureManager;
@@ -118,6 +119,7 @@ public class TFChunkGenerator extends ChunkGenerator {
         this.strongholdGenerator = new StrongholdGenerator(seed, biomeProvider);
         this.resources = LazySupplier.factory(context.split(GeneratorResources.SEED_OFFSET), GeneratorResources.factory(this));
         Profiler.reset();
+        PerfTuner.reset();
         Log.info("Created TerraForged chunk-generator with settings {}", DataUtils.toJson(context.terraSettings));
     }
 
@@ -335,6 +337,14 @@ public class TFChunkGenerator extends ChunkGenerator {
         return resources.get().postProcessors;
     }
 
+    public final ColumnDecorator[] getSurfacePass() {
+        return resources.get().surfacePass;
+    }
+
+    public final ColumnDecorator[] getPostProcessPass() {
+        return resources.get().postProcessPass;
+    }
+
     public final void queueChunk(ChunkPos pos) {
         queueChunk(pos.x, pos.z);
     }
@@ -344,6 +354,18 @@ public class TFChunkGenerator extends ChunkGenerator {
         int rx = tileCache.chunkToRegion(chunkX);
         int rz = tileCache.chunkToRegion(chunkZ);
         tileCache.queueRegion(rx, rz);
+        PerfTuner.onQueued(rx, rz);
+    }
+
+    /**
+     * Queues the tile for the given region without it counting towards the tile cache stats (see {@link PerfTuner})
+     */
+    public final void prefetchRegion(int regionX, int regionZ) {
+        resources.get().tileCache.queueRegion(regionX, regionZ);
+    }
+
+    public final int chunkToRegion(int chunkCoord) {
+        return resources.get().tileCache.chunkToRegion(chunkCoord);
     }
 
     public final Tile getTile(ChunkPos pos) {
@@ -365,6 +387,18 @@ public class TFChunkGenerator extends ChunkGenerator {
         return resources.get().tileCache.getChunk(chunkX, chunkZ);
     }
 
+    /**
+     * Gets the ChunkReader for the first generation stage to read the chunk (biomes), recording how long the read
+     * waited for its tile (see {@link PerfTuner}). Later stages should use {@link #getChunkReader(int, int)}.
+     */
+    public final ChunkReader getFirstChunkReader(int chunkX, int chunkZ) {
+        TileCache tileCache = resources.get().tileCache;
+        long start = System.nanoTime();
+        ChunkReader reader = tileCache.getChunk(chunkX, chunkZ);
+        PerfTuner.onRead(tileCache.chunkToRegion(chunkX), tileCache.chunkToRegion(chunkZ), System.nanoTime() - start);
+        return reader;
+    }
+
     public static ChunkReader getChunk(IWorld world, ChunkGenerator generator) {
         if (generator instanceof TFChunkGenerator) {
             TFChunkGenerator terra = (TFChunkGenerator) generator;
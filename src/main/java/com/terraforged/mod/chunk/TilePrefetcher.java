@@ -0,0 +1,210 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 TerraForged
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.terraforged.mod.chunk;
+
+import com.terraforged.mod.config.ConfigManager;
+import com.terraforged.mod.config.PerfTuner;
+import it.unimi.dsi.fastutil.longs.LongLinkedOpenHashSet;
+import net.minecraft.entity.player.ServerPlayerEntity;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.RegistryKey;
+import net.minecraft.world.World;
+import net.minecraft.world.gen.ChunkGenerator;
+import net.minecraft.world.server.ServerWorld;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.server.ServerLifecycleHooks;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Queues heightmap tiles ahead of fast moving players (ie elytra flight) so that they're generated before vanilla
+ * requests the chunks inside them.
+ *
+ * Player velocity is measured from the change in position between samples. Regions along the predicted path are
+ * queued up to a small per-sample budget, and prefetching pauses whilst on-demand chunk generation is waiting on
+ * tiles so that it never competes with the chunks players actually need.
+ */
+@Mod.EventBusSubscriber(bus = Mod.EventBusSubscriber.Bus.FORGE)
+public class TilePrefetcher {
+
+    public static final String ENABLED_KEY = "prefetch";
+    public static final String BUDGET_KEY = "prefetch_budget";
+    public static final int DEFAULT_BUDGET = 2;
+
+    private static final int SAMPLE_INTERVAL = 10;
+    private static final int LOOKAHEAD_TICKS = 200;
+    private static final int STEP_CHUNKS = 4;
+    private static final int RECENT_REGIONS = 512;
+    // blocks per tick - below this normal chunk loading keeps up, above it the player has teleported
+    private static final double MIN_SPEED = 0.5;
+    private static final double MAX_SPEED = 8.0;
+    // misses per sample above which on-demand generation is considered to be behind
+    private static final long MAX_MISSES = 4;
+
+    private static final Map<UUID, Tracker> trackers = new HashMap<>();
+    private static final Map<RegistryKey<World>, RecentRegions> recent = new HashMap<>();
+
+    private static int tick = 0;
+    private static int budget = -1;
+    private static long lastMisses = 0L;
+
+    @SubscribeEvent
+    public static void onTick(TickEvent.ServerTickEvent event) {
+        if (event.phase != TickEvent.Phase.END || ++tick < SAMPLE_INTERVAL) {
+            return;
+        }
+
+        tick = 0;
+
+        if (budget == -1) {
+            budget = ConfigManager.PERFORMANCE.load().getBool(ENABLED_KEY, true)
+                    ? Math.max(0, ConfigManager.PERFORMANCE.getInt(BUDGET_KEY, DEFAULT_BUDGET))
+                    : 0;
+        }
+
+        if (budget == 0) {
+            return;
+        }
+
+        long misses = PerfTuner.getStats().misses();
+        long newMisses = misses - lastMisses;
+        lastMisses = misses;
+        if (newMisses > MAX_MISSES) {
+            return;
+        }
+
+        MinecraftServer server = ServerLifecycleHooks.getCurrentServer();
+        if (server == null) {
+            return;
+        }
+
+        for (ServerWorld world : server.getWorlds()) {
+            ChunkGenerator generator = world.getChunkProvider().getChunkGenerator();
+            if (generator instanceof TFChunkGenerator) {
+                prefetch(world, (TFChunkGenerator) generator);
+            }
+        }
+
+        trackers.values().removeIf(Tracker::isStale);
+    }
+
+    public static void reset() {
+        trackers.clear();
+        recent.clear();
+        tick = 0;
+        budget = -1;
+        lastMisses = 0L;
+    }
+
+    private static void prefetch(ServerWorld world, TFChunkGenerator generator) {
+        int remaining = budget;
+        RecentRegions regions = recent.computeIfAbsent(world.getDimensionKey(), key -> new RecentRegions());
+        for (ServerPlayerEntity player : world.getPlayers()) {
+            Tracker tracker = trackers.computeIfAbsent(player.getUniqueID(), id -> new Tracker());
+            if (!tracker.update(world, player.getPosX(), player.getPosZ())) {
+                continue;
+            }
+
+            remaining = prefetch(generator, regions, tracker, remaining);
+            if (remaining == 0) {
+                return;
+            }
+        }
+    }
+
+    private static int prefetch(TFChunkGenerator generator, RecentRegions regions, Tracker tracker, int remaining) {
+        double speed = Math.sqrt(tracker.dx * tracker.dx + tracker.dz * tracker.dz);
+        if (speed < MIN_SPEED || speed > MAX_SPEED) {
+            return remaining;
+        }
+
+        int steps = (int) ((speed * LOOKAHEAD_TICKS) / (STEP_CHUNKS << 4));
+        double stepX = (tracker.dx / speed) * (STEP_CHUNKS << 4);
+        double stepZ = (tracker.dz / speed) * (STEP_CHUNKS << 4);
+
+        for (int i = 1; i <= steps && remaining > 0; i++) {
+            int chunkX = ((int) Math.floor(tracker.x + stepX * i)) >> 4;
+            int chunkZ = ((int) Math.floor(tracker.z + stepZ * i)) >> 4;
+            int regionX = generator.chunkToRegion(chunkX);
+            int regionZ = generator.chunkToRegion(chunkZ);
+
+            long key = ((long) regionX << 32) | (regionZ & 0xFFFFFFFFL);
+            if (!regions.add(key)) {
+                continue;
+            }
+
+            generator.prefetchRegion(regionX, regionZ);
+            remaining--;
+        }
+
+        return remaining;
+    }
+
+    private static class RecentRegions {
+
+        private final LongLinkedOpenHashSet regions = new LongLinkedOpenHashSet(RECENT_REGIONS);
+
+        // returns false if the region was already queued recently (marking it as the most recent again)
+        private boolean add(long key) {
+            if (!regions.addAndMoveToLast(key)) {
+                return false;
+            }
+            if (regions.size() > RECENT_REGIONS) {
+                regions.removeFirstLong();
+            }
+            return true;
+        }
+    }
+
+    private static class Tracker {
+
+        private ServerWorld world = null;
+        private double x = 0;
+        private double z = 0;
+        private double dx = 0;
+        private double dz = 0;
+        private int age = 0;
+
+        private boolean update(ServerWorld world, double x, double z) {
+            boolean moved = this.world == world;
+            // velocity in blocks per tick, averaged over the sample interval
+            this.dx = moved ? (x - this.x) / SAMPLE_INTERVAL : 0;
+            this.dz = moved ? (z - this.z) / SAMPLE_INTERVAL : 0;
+            this.x = x;
+            this.z = z;
+            this.world = world;
+            this.age = 0;
+            return moved;
+        }
+
+        private boolean isStale() {
+            return ++age > 1;
+        }
+    }
+}
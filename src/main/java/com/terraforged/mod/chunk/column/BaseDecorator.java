@@ -31,7 +31,9 @@ import com.terraforged.engine.world.terrain.TerrainType;
 import com.terraforged.mod.api.chunk.column.ColumnDecorator;
 import com.terraforged.mod.api.chunk.column.DecoratorContext;
 import com.terraforged.mod.api.material.state.States;
+import com.terraforged.mod.chunk.util.FastChunk;
 import com.terraforged.noise.util.NoiseUtil;
+import net.minecraft.block.BlockState;
 import net.minecraft.world.chunk.IChunk;
 
 public class BaseDecorator implements ColumnDecorator {
@@ -68,6 +70,12 @@ public class BaseDecorator implements ColumnDecorator {
         return y;
     }
 
+    @Override
+    public int fillDown(DecoratorContext context, IChunk chunk, int x, int z, int from, int to, BlockState state) {
+        FastChunk.fillDown(chunk, context.pos, x, z, from, to, state);
+        return to;
+    }
+
     private static int getLavaLevel(int y, Cell cell, Levels levels) {
         int regionLavaHeight = NoiseUtil.floor(LAVA_LEVEL.apply(cell.terrainRegionId));
         int lavaLevel = levels.waterLevel + regionLavaHeight;
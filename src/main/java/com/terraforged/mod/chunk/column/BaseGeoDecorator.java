@@ -27,11 +27,17 @@ package com.terraforged.mod.chunk.column;
 import com.terraforged.engine.world.geology.Stratum;
 import com.terraforged.mod.api.chunk.column.DecoratorContext;
 import com.terraforged.mod.chunk.TFChunkGenerator;
+import com.terraforged.mod.chunk.util.FastChunk;
 import net.minecraft.block.BlockState;
 import net.minecraft.world.chunk.IChunk;
 
 public class BaseGeoDecorator extends BaseDecorator implements Stratum.Visitor<BlockState, DecoratorContext> {
 
+    private static final Stratum.Visitor<BlockState, FastChunk.ColumnWriter> COLUMN_WRITER = (y, state, writer) -> {
+        writer.set(y, state);
+        return true;
+    };
+
     private final TFChunkGenerator generator;
 
     public BaseGeoDecorator(TFChunkGenerator generator) {
@@ -42,6 +48,15 @@ public class BaseGeoDecorator extends BaseDecorator implements Stratum.Visitor<B
     public void decorate(IChunk chunk, DecoratorContext context, int x, int y, int z) {
         y = decorateFluid(chunk, context, x, y, z);
 
+        if (chunk instanceof FastChunk) {
+            try (FastChunk.ColumnWriter writer = ((FastChunk) chunk).column(x, z)) {
+                generator.getGeologyManager().getGeology(context.biome)
+                        .getStrata(x, z)
+                        .downwards(x, y, z, context.depthBuffer.get(), writer, COLUMN_WRITER);
+            }
+            return;
+        }
+
         context.pos.setPos(x, y, z);
 
         generator.getGeologyManager().getGeology(context.biome)
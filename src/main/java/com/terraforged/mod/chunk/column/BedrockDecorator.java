@@ -28,6 +28,7 @@ import com.terraforged.mod.api.chunk.column.ColumnDecorator;
 import com.terraforged.mod.api.chunk.column.DecoratorContext;
 import com.terraforged.mod.api.material.state.States;
 import com.terraforged.mod.chunk.TerraContext;
+import com.terraforged.mod.chunk.util.FastChunk;
 import net.minecraft.block.Block;
 import net.minecraft.block.BlockState;
 import net.minecraft.util.ResourceLocation;
@@ -57,6 +58,12 @@ public class BedrockDecorator implements ColumnDecorator {
         }
     }
 
+    @Override
+    public int fillDown(DecoratorContext context, IChunk chunk, int x, int z, int from, int to, BlockState state) {
+        FastChunk.fillDown(chunk, context.pos, x, z, from, to, state);
+        return to;
+    }
+
     private static BlockState getState(String name) {
         ResourceLocation location = ResourceLocation.tryCreate(name);
         if (location != null && ForgeRegistries.BLOCKS.containsKey(location)) {
@@ -0,0 +1,54 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 TerraForged
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.terraforged.mod.chunk.column;
+
+import com.terraforged.engine.cell.Cell;
+import com.terraforged.engine.world.heightmap.Levels;
+
+/**
+ * Chunk-scoped, per-column data derived from the ChunkReader once (when the biome container is created)
+ * and consumed by each of the column passes (terrain, surface & post-processing) run against the chunk
+ */
+public class ColumnCache {
+
+    public static final int SIZE = 16 * 16;
+
+    private final int[] height = new int[SIZE];
+
+    public void record(int dx, int dz, Cell cell, Levels levels) {
+        height[indexOf(dx, dz)] = levels.scale(cell.value);
+    }
+
+    /**
+     * The scaled surface height of the column (equivalent to levels.scale(cell.value))
+     */
+    public int getHeight(int dx, int dz) {
+        return height[indexOf(dx, dz)];
+    }
+
+    private static int indexOf(int dx, int dz) {
+        return ((dz & 15) << 4) + (dx & 15);
+    }
+}
@@ -37,6 +37,7 @@ import com.terraforged.mod.chunk.TFChunkGenerator;
 import com.terraforged.mod.chunk.column.BaseDecorator;
 import com.terraforged.mod.chunk.column.BaseGeoDecorator;
 import com.terraforged.mod.chunk.column.BedrockDecorator;
+import com.terraforged.mod.chunk.column.ColumnCache;
 import com.terraforged.mod.chunk.util.FastChunk;
 import com.terraforged.mod.feature.structure.StructureTerrain;
 import net.minecraft.world.IWorld;
@@ -64,12 +65,14 @@ public class BaseGenerator implements Generator.Terrain {
     @Override
     public final void generateTerrain(IWorld world, IChunk chunk, StructureManager structures) {
         try (ChunkReader reader = generator.getChunkReader(chunk.getPos().x, chunk.getPos().z)) {
-            TFBiomeContainer container = TFBiomeContainer.getOrCreate(FastChunk.wrap(chunk), reader, generator.getBiomeProvider());
-            try (DecoratorContext context = new DecoratorContext(chunk, levels, climate.get())) {
+            IChunk fastChunk = FastChunk.wrap(chunk);
+            TFBiomeContainer container = TFBiomeContainer.getOrCreate(fastChunk, reader, generator.getBiomeProvider());
+            ColumnCache columns = container.getColumns();
+            try (DecoratorContext context = new DecoratorContext(fastChunk, levels, climate.get())) {
                 reader.iterate(context, (cell, dx, dz, ctx) -> {
                     int px = ctx.blockX + dx;
                     int pz = ctx.blockZ + dz;
-                    int py = ctx.levels.scale(cell.value);
+                    int py = columns.getHeight(dx, dz);
                     ctx.cell = cell;
                     ctx.biome = container.getBiome(dx, dz);
                     baseDecorator.decorate(ctx.chunk, ctx, px, py, pz);
@@ -41,7 +41,7 @@ public class BiomeGenerator implements Generator.Biomes {
     @Override
     public void generateBiomes(IChunk chunk) {
         ChunkPos pos = chunk.getPos();
-        try (ChunkReader reader = generator.getChunkReader(pos.x, pos.z)) {
+        try (ChunkReader reader = generator.getFirstChunkReader(pos.x, pos.z)) {
             TFBiomeContainer.create(reader, generator.getBiomeProvider());
         }
     }
@@ -33,6 +33,7 @@ import com.terraforged.mod.chunk.fix.RegionFix;
 import com.terraforged.mod.chunk.util.ChunkRegionBoundingBox;
 import com.terraforged.mod.featuremanager.biome.BiomeFeature;
 import com.terraforged.mod.featuremanager.biome.BiomeFeatures;
+import com.terraforged.mod.profiler.FeatureCosts;
 import com.terraforged.mod.profiler.watchdog.UncheckedException;
 import com.terraforged.mod.profiler.watchdog.WarnTimer;
 import com.terraforged.mod.profiler.watchdog.Watchdog;
@@ -51,7 +52,9 @@ import net.minecraft.world.gen.Heightmap;
 import net.minecraft.world.gen.WorldGenRegion;
 import net.minecraft.world.gen.feature.structure.Structure;
 import net.minecraft.world.gen.feature.structure.StructureManager;
+import net.minecraft.world.gen.feature.structure.StructureStart;
 
+import java.util.Iterator;
 import java.util.List;
 
 public class FeatureGenerator implements Generator.Features {
@@ -116,6 +119,7 @@ public class FeatureGenerator implements Generator.Features {
         final List<List<Structure<?>>> stagedStructures = biomeFeatures.getStructures();
 
         final WarnTimer timer = Watchdog.getWarnTimer();
+        final boolean recordCosts = FeatureCosts.isEnabled();
 
         final int chunkX = pos.getX() >> 4;
         final int chunkZ = pos.getZ() >> 4;
@@ -133,15 +137,27 @@ public class FeatureGenerator implements Generator.Features {
                     random.setFeatureSeed(decorationSeed, featureSeed++, stageIndex);
                     try {
                         long timeStamp = timer.now();
+                        long start = recordCosts ? System.nanoTime() : 0L;
                         context.pushIdentifier(structure.getStructureName(), timeStamp);
-                        manager.func_235011_a_(SectionPos.from(pos), structure).forEach(start -> start.func_230366_a_(
-                                region,
-                                manager,
-                                generator,
-                                random,
-                                chunkBounds.init(start),
-                                chunkPos
-                        ));
+
+                        int placed = 0;
+                        Iterator<? extends StructureStart<?>> starts = manager.func_235011_a_(SectionPos.from(pos), structure).iterator();
+                        while (starts.hasNext()) {
+                            StructureStart<?> structureStart = starts.next();
+                            structureStart.func_230366_a_(
+                                    region,
+                                    manager,
+                                    generator,
+                                    random,
+                                    chunkBounds.init(structureStart),
+                                    chunkPos
+                            );
+                            placed++;
+                        }
+
+                        if (recordCosts) {
+                            FeatureCosts.STRUCTURES.record(structure, biome, System.nanoTime() - start, placed > 0);
+                        }
                         Generator.checkTime(STRUCTURE, structure.getStructureName(), timer, timeStamp, context);
                     } catch (Throwable t) {
                         throw new UncheckedException(STRUCTURE, structure.getStructureName(), t);
@@ -162,8 +178,12 @@ public class FeatureGenerator implements Generator.Features {
 
                     try {
                         long timeStamp = timer.now();
+                        long start = recordCosts ? System.nanoTime() : 0L;
                         context.pushIdentifier(feature.getIdentity(), timeStamp);
-                        feature.getFeature().generate(region, generator, random, pos);
+                        boolean placed = feature.getFeature().generate(region, generator, random, pos);
+                        if (recordCosts) {
+                            FeatureCosts.FEATURES.record(feature.getIdentity(), biome, System.nanoTime() - start, placed);
+                        }
                         Generator.checkTime(FEATURE, feature.getIdentity(), timer, timeStamp, context);
                     } catch (Throwable t) {
                         throw new UncheckedException(FEATURE, feature.getIdentity(), t);
@@ -174,7 +194,11 @@ public class FeatureGenerator implements Generator.Features {
     }
 
     private void postProcess(ChunkReader reader, TFBiomeContainer container, DecoratorContext context) {
-        List<ColumnDecorator> decorators = generator.getPostProcessors();
+        ColumnDecorator[] decorators = generator.getPostProcessPass();
+        if (decorators.length == 0) {
+            return;
+        }
+
         reader.iterate(context, (cell, dx, dz, ctx) -> {
             int px = ctx.blockX + dx;
             int pz = ctx.blockZ + dz;
@@ -26,6 +26,7 @@ package com.terraforged.mod.chunk.generator;
 
 import com.terraforged.mod.Log;
 import com.terraforged.mod.featuremanager.util.identity.Identifier;
+import com.terraforged.mod.profiler.metrics.WorldGenMetrics;
 import com.terraforged.mod.profiler.watchdog.WarnTimer;
 import com.terraforged.mod.profiler.watchdog.WatchdogContext;
 import net.minecraft.entity.EntityClassification;
@@ -137,6 +138,7 @@ public interface Generator {
         long duration = timer.since(timestamp);
         if (timer.warn(duration)) {
             context.pushTime(type, identity, duration);
+            WorldGenMetrics.onSlowItem();
             Log.warn("{} was slow to generate! ({}ms): {}", type, duration, identity);
         }
     }
@@ -145,6 +147,7 @@ public interface Generator {
         long duration = timer.since(timestamp);
         if (timer.warn(duration)) {
             context.pushTime(type, identity, duration);
+            WorldGenMetrics.onSlowItem();
             Log.warn("{} was slow to generate! ({}ms): {}", type, duration, identity.getComponents());
         }
     }
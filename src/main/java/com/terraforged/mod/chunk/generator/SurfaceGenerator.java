@@ -27,8 +27,10 @@ package com.terraforged.mod.chunk.generator;
 import com.terraforged.engine.tile.chunk.ChunkReader;
 import com.terraforged.mod.api.biome.surface.SurfaceChunk;
 import com.terraforged.mod.api.biome.surface.SurfaceContext;
+import com.terraforged.mod.api.chunk.column.ColumnDecorator;
 import com.terraforged.mod.biome.TFBiomeContainer;
 import com.terraforged.mod.chunk.TFChunkGenerator;
+import com.terraforged.mod.chunk.column.ColumnCache;
 import com.terraforged.mod.chunk.util.FastChunk;
 import net.minecraft.block.BlockState;
 import net.minecraft.util.SharedSeedRandom;
@@ -56,6 +58,8 @@ public class SurfaceGenerator implements Generator.Surfaces {
     public final void generateSurface(WorldGenRegion world, IChunk chunk) {
         try (ChunkReader reader = generator.getChunkReader(chunk.getPos().x, chunk.getPos().z)) {
             TFBiomeContainer container = TFBiomeContainer.getOrCreate(chunk, reader, generator.getBiomeProvider());
+            ColumnCache columns = container.getColumns();
+            ColumnDecorator[] decorators = generator.getSurfacePass();
             SurfaceChunk buffer = new SurfaceChunk(chunk);
 
             try (SurfaceContext context = generator.getContext().surface(buffer, container, solid, fluid)) {
@@ -70,12 +74,12 @@ public class SurfaceGenerator implements Generator.Surfaces {
                     ctx.noise = getSurfaceNoise(px, pz) * 15D;
                     generator.getSurfaceManager().getSurface(ctx).buildSurface(px, pz, top, ctx);
 
-                    int py = ctx.levels.scale(cell.value);
+                    int py = columns.getHeight(dx, dz);
                     ctx.surfaceY = py;
                     ctx.pos.setPos(px, py, pz);
 
-                    for (int i = 0; i < generator.getSurfaceDecorators().size(); i++) {
-                        generator.getSurfaceDecorators().get(i).decorate(buffer, ctx, px, py, pz);
+                    for (ColumnDecorator decorator : decorators) {
+                        decorator.decorate(buffer, ctx, px, py, pz);
                     }
                 });
                 FastChunk.updateWGHeightmaps(chunk);
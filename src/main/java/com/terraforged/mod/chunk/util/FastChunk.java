@@ -50,6 +50,7 @@ public class FastChunk extends ChunkDelegate {
     private final Heightmap worldSurface;
     private final Heightmap oceanSurface;
     private final BlockPos.Mutable mutable = new BlockPos.Mutable();
+    private final ColumnWriter writer = new ColumnWriter();
 
     protected FastChunk(ChunkPrimer primer) {
         super(primer);
@@ -83,6 +84,52 @@ public class FastChunk extends ChunkDelegate {
         return Blocks.VOID_AIR.getDefaultState();
     }
 
+    /**
+     * Fills the column at x,z from 'from' (inclusive) down to 'to' (exclusive) with the given state.
+     * Each ChunkSection is locked once for the portion of the run it contains & the heightmaps/light are
+     * updated once for the run rather than per block.
+     */
+    public void fillDown(int x, int z, int from, int to, BlockState state) {
+        int top = Math.min(from, 255);
+        int bottom = Math.max(to + 1, 0);
+        if (top < bottom) {
+            return;
+        }
+
+        int dx = x & 15;
+        int dz = z & 15;
+        for (int sectionY = top >> 4, sectionMin = bottom >> 4; sectionY >= sectionMin; sectionY--) {
+            int minY = Math.max(bottom, sectionY << 4);
+            int maxY = Math.min(top, (sectionY << 4) + 15);
+            ChunkSection section = primer.getSection(sectionY);
+            section.lock();
+            for (int y = maxY; y >= minY; y--) {
+                section.setBlockState(dx, y & 15, dz, state, false);
+            }
+            section.unlock();
+        }
+
+        if (!state.isAir()) {
+            mutable.setPos(blockX + dx, top, blockZ + dz);
+            if (state.getLightValue(primer, mutable) != 0) {
+                for (int y = top; y >= bottom; y--) {
+                    primer.addLightPosition(mutable.setPos(blockX + dx, y, blockZ + dz));
+                }
+            }
+            // runs are written top-down so the top of the run is the only position that can raise the heightmaps
+            worldSurface.update(dx, top, dz, state);
+            oceanSurface.update(dx, top, dz, state);
+        }
+    }
+
+    /**
+     * Begins a run-length buffered write to the column at x,z. Blocks should be set top-down and the writer
+     * must be closed to flush the final run.
+     */
+    public ColumnWriter column(int x, int z) {
+        return writer.begin(x, z);
+    }
+
     public void setBiomes(BiomeContainer biomes) {
         primer.setBiomes(biomes);
     }
@@ -100,4 +147,53 @@ public class FastChunk extends ChunkDelegate {
     public static void updateWGHeightmaps(IChunk chunk) {
         Heightmap.updateChunkHeightmaps(chunk, HEIGHT_MAPS);
     }
+
+    public static void fillDown(IChunk chunk, BlockPos.Mutable pos, int x, int z, int from, int to, BlockState state) {
+        if (chunk instanceof FastChunk) {
+            ((FastChunk) chunk).fillDown(x, z, from, to, state);
+            return;
+        }
+        for (int dy = from; dy > to; dy--) {
+            chunk.setBlockState(pos.setPos(x, dy, z), state, false);
+        }
+    }
+
+    public class ColumnWriter implements AutoCloseable {
+
+        private int x;
+        private int z;
+        private int top;
+        private int bottom;
+        private BlockState state;
+
+        private ColumnWriter begin(int x, int z) {
+            this.x = x;
+            this.z = z;
+            this.state = null;
+            return this;
+        }
+
+        public void set(int y, BlockState state) {
+            if (state == this.state && y == bottom - 1) {
+                bottom = y;
+                return;
+            }
+            flush();
+            this.state = state;
+            this.top = y;
+            this.bottom = y;
+        }
+
+        @Override
+        public void close() {
+            flush();
+        }
+
+        private void flush() {
+            if (state != null) {
+                fillDown(x, z, top, bottom - 1, state);
+                state = null;
+            }
+        }
+    }
 }
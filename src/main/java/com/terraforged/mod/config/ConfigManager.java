@@ -29,7 +29,9 @@ import com.electronwill.nightconfig.core.Config;
 import com.electronwill.nightconfig.core.file.CommentedFileConfig;
 import com.electronwill.nightconfig.toml.TomlFormat;
 import com.terraforged.mod.Log;
+import com.terraforged.mod.chunk.TilePrefetcher;
 import com.terraforged.mod.chunk.settings.preset.Preset;
+import com.terraforged.mod.profiler.metrics.MetricsExporter;
 import com.terraforged.mod.profiler.watchdog.Watchdog;
 
 import java.io.IOException;
@@ -44,6 +46,8 @@ public class ConfigManager {
     private static final String GENERAL_VERSION = "1.0";
     private static final Path COMMON_DIR = Paths.get("config", "terraforged").toAbsolutePath();
 
+    public static final String TEMPLATE_CACHE_KEY = "template_cache";
+
     public static final ConfigRef BIOME_WEIGHTS = new ConfigRef(() -> create("biome_weights", cfg -> set(
             cfg,
             "#terraforged:example_biome",
@@ -86,6 +90,30 @@ public class ConfigManager {
                 "Controls the number of pieces a heightmap tile is divided up into.",
                 "Higher batch counts may be able to utilize more of the available threads, improving performance."
         );
+
+        set(
+                cfg,
+                PerfTuner.ADAPTIVE_KEY,
+                false,
+                "Adaptive mode monitors how often chunk generation has to wait for heightmap tiles and adjusts the",
+                "thread count, batching and tile size settings above when the server stops so they apply next start.",
+                "When disabled the recommended settings are only printed to the log."
+        );
+
+        set(
+                cfg,
+                TilePrefetcher.ENABLED_KEY,
+                true,
+                "Generate heightmap tiles ahead of fast moving players (ie when flying with elytra)."
+        );
+
+        set(
+                cfg,
+                TilePrefetcher.BUDGET_KEY,
+                TilePrefetcher.DEFAULT_BUDGET,
+                "The maximum number of tiles queued ahead of players per world every half second.",
+                "Prefetching pauses whilst chunks are waiting on tiles so that it doesn't compete with them."
+        );
     }));
 
     public static final ConfigRef GENERAL = new ConfigRef(GENERAL_VERSION, version -> create("general", version, cfg -> {
@@ -107,6 +135,13 @@ public class ConfigManager {
                 false,
                 "Set whether coordinates should be displayed by default in the config gui."
         );
+        set(
+                cfg,
+                TEMPLATE_CACHE_KEY,
+                true,
+                "Cache parsed structure templates (tree/bush .nbt files etc) in 'config/terraforged/cache' so that",
+                "unchanged templates load without being re-parsed on subsequent launches."
+        );
         set(
                 cfg,
                 Watchdog.FEATURE_WARN_KEY,
@@ -115,6 +150,13 @@ public class ConfigManager {
                 "is printed to the logs. This may help track down mods that are causing world-gen to run slow.",
                 "Set to -1 to disable."
         );
+        set(
+                cfg,
+                Watchdog.STACK_SAMPLE_KEY,
+                false,
+                "When enabled, the stack trace of any feature/structure that generates for longer than the",
+                "feature_warn_time is sampled & printed to the logs while it is still running."
+        );
         set(
                 cfg,
                 Watchdog.CHUNK_TIMEOUT_KEY,
@@ -123,6 +165,26 @@ public class ConfigManager {
                 "gets stuck trying to generate a feature/structure). This is usually caused by third-party mods.",
                 "Set to -1 to disable deadlock detection & reporting (the game may freeze indefinitely without it)."
         );
+        set(
+                cfg,
+                MetricsExporter.JMX_KEY,
+                true,
+                "Publish world-gen metrics (stage timings, tile cache & watchdog stats) as JMX MBeans under 'com.terraforged'."
+        );
+        set(
+                cfg,
+                MetricsExporter.PORT_KEY,
+                -1,
+                "The local port to serve world-gen metrics on in the Prometheus text format (http://127.0.0.1:<port>/metrics).",
+                "Set to -1 to disable."
+        );
+        set(
+                cfg,
+                MetricsExporter.FILE_KEY,
+                false,
+                "Periodically write world-gen metrics in the Prometheus text format to 'dumps/terraforged.prom'",
+                "(for use with node_exporter's textfile collector)."
+        );
     }));
 
     public static void init() {
@@ -0,0 +1,284 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 TerraForged
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.terraforged.mod.config;
+
+import com.electronwill.nightconfig.core.CommentedConfig;
+import com.terraforged.mod.Log;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Observes how chunk generation interacts with the heightmap tile cache (how often a chunk has to wait for its
+ * tile, how long for, and how many queued tiles are outstanding) and uses this to recommend performance settings.
+ *
+ * Only the first read of each chunk (made by the biome stage) is recorded - later stages re-read a tile that is
+ * already loaded and would drown out the misses.
+ *
+ * The tile generator's pool and batch count are fixed once it has been built, so recommendations are logged when
+ * the server stops and, if 'adaptive' is enabled in the performance config, saved so they apply on next start.
+ */
+public class PerfTuner {
+
+    public static final String ADAPTIVE_KEY = "adaptive";
+
+    // reads returning faster than this are assumed to have found their tile already generated
+    private static final long HIT_NANOS = TimeUnit.MICROSECONDS.toNanos(500);
+    private static final long LONG_WAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(250);
+    private static final long MIN_SAMPLES = 2000;
+    private static final int MAX_PENDING = 4096;
+    // queued regions that haven't been read after this long are assumed to never be read (ie border chunks that only
+    // reached the structure stage)
+    private static final long PENDING_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(30);
+    private static final long EXPIRE_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private static final float HIGH_MISS_RATE = 0.25F;
+    private static final float LOW_MISS_RATE = 0.05F;
+    // adaptive mode never gives back threads below this so a quiet session can't ratchet the pool down to nothing
+    private static final int MIN_THREAD_COUNT = Math.max(1, PerfDefaults.THREAD_COUNT / 2);
+
+    private static final LongAdder hits = new LongAdder();
+    private static final LongAdder misses = new LongAdder();
+    private static final LongAdder missNanos = new LongAdder();
+    private static final LongAdder depthSum = new LongAdder();
+    // never reset so that they can be exported as monotonic counters
+    private static final LongAdder lifetimeHits = new LongAdder();
+    private static final LongAdder lifetimeMisses = new LongAdder();
+    private static final LongAdder lifetimeMissNanos = new LongAdder();
+    private static final Map<Long, Long> pending = new ConcurrentHashMap<>();
+    private static final AtomicLong lastExpire = new AtomicLong();
+
+    public static void onQueued(int regionX, int regionZ) {
+        long now = System.nanoTime();
+        expire(now);
+        if (pending.size() < MAX_PENDING) {
+            pending.putIfAbsent(key(regionX, regionZ), now);
+        }
+    }
+
+    /**
+     * Records the first read of a chunk's tile, where nanos is how long the read blocked for
+     */
+    public static void onRead(int regionX, int regionZ, long nanos) {
+        pending.remove(key(regionX, regionZ));
+        depthSum.add(pending.size());
+        if (nanos <= HIT_NANOS) {
+            hits.increment();
+            lifetimeHits.increment();
+        } else {
+            misses.increment();
+            missNanos.add(nanos);
+            lifetimeMisses.increment();
+            lifetimeMissNanos.add(nanos);
+        }
+    }
+
+    public static void reset() {
+        hits.reset();
+        misses.reset();
+        missNanos.reset();
+        depthSum.reset();
+        pending.clear();
+    }
+
+    public static Stats getStats() {
+        return new Stats(hits.sum(), misses.sum(), missNanos.sum(), depthSum.sum());
+    }
+
+    /**
+     * @return the stats recorded since the process started, ignoring resets
+     */
+    public static Stats getLifetimeStats() {
+        return new Stats(lifetimeHits.sum(), lifetimeMisses.sum(), lifetimeMissNanos.sum(), 0L);
+    }
+
+    public static int getQueuedRegions() {
+        return pending.size();
+    }
+
+    public static boolean isAdaptive() {
+        return ConfigManager.PERFORMANCE.getBool(ADAPTIVE_KEY, false);
+    }
+
+    /**
+     * Logs the recommended settings for the current session and, if adaptive mode is enabled, saves them to the
+     * performance config
+     */
+    public static void onServerStopped() {
+        Stats stats = getStats();
+        if (stats.samples() < MIN_SAMPLES) {
+            return;
+        }
+
+        CommentedConfig config = ConfigManager.PERFORMANCE.get();
+        Recommendation recommendation = recommend(stats, config);
+        Log.info("Tile cache stats: {}", stats);
+
+        if (!recommendation.isChanged(config)) {
+            Log.info("Current performance settings look good");
+            return;
+        }
+
+        if (isAdaptive()) {
+            Log.info("Applying performance settings (adaptive): {}", recommendation);
+            ConfigManager.PERFORMANCE.set(recommendation::apply);
+        } else {
+            Log.info("Recommended performance settings: {}", recommendation);
+        }
+    }
+
+    public static Recommendation recommend(Stats stats, CommentedConfig config) {
+        int tileSize = config.getInt("tile_size");
+        int batchCount = config.getInt("batch_count");
+        int threadCount = config.getInt("thread_count");
+        boolean batching = config.getOrElse("batching", PerfDefaults.BATCHING);
+
+        float missRate = stats.missRate();
+        if (missRate > HIGH_MISS_RATE) {
+            if (stats.averageDepth() >= threadCount) {
+                // more tiles are waiting than there are threads to generate them
+                threadCount = Math.min(PerfDefaults.MAX_THREAD_COUNT, threadCount + 1);
+            } else if (batching) {
+                // few tiles in flight - split each one into more pieces so idle threads can help
+                batchCount = Math.min(PerfDefaults.MAX_BATCH_COUNT, batchCount + 2);
+            } else {
+                batching = true;
+            }
+
+            if (stats.averageMissNanos() > LONG_WAIT_NANOS) {
+                // each miss stalls for a long time - smaller tiles are quicker to generate
+                tileSize = Math.max(2, tileSize - 1);
+            }
+        } else if (missRate < LOW_MISS_RATE && stats.averageDepth() < 1) {
+            // tiles are almost always ready - give back a thread
+            if (threadCount > MIN_THREAD_COUNT) {
+                threadCount--;
+            }
+        }
+
+        return new Recommendation(tileSize, batchCount, threadCount, batching);
+    }
+
+    private static void expire(long now) {
+        long last = lastExpire.get();
+        if (now - last < EXPIRE_INTERVAL_NANOS || !lastExpire.compareAndSet(last, now)) {
+            return;
+        }
+        pending.values().removeIf(queued -> now - queued > PENDING_TIMEOUT_NANOS);
+    }
+
+    private static long key(int x, int z) {
+        return ((long) x << 32) | (z & 0xFFFFFFFFL);
+    }
+
+    public static class Stats {
+
+        private final long hits;
+        private final long misses;
+        private final long missNanos;
+        private final long depthSum;
+
+        private Stats(long hits, long misses, long missNanos, long depthSum) {
+            this.hits = hits;
+            this.misses = misses;
+            this.missNanos = missNanos;
+            this.depthSum = depthSum;
+        }
+
+        public long hits() {
+            return hits;
+        }
+
+        public long misses() {
+            return misses;
+        }
+
+        public long missNanos() {
+            return missNanos;
+        }
+
+        public long samples() {
+            return hits + misses;
+        }
+
+        public float missRate() {
+            return misses / (float) Math.max(1, samples());
+        }
+
+        public double averageMissNanos() {
+            return missNanos / (double) Math.max(1, misses);
+        }
+
+        public double averageDepth() {
+            return depthSum / (double) Math.max(1, samples());
+        }
+
+        @Override
+        public String toString() {
+            return String.format("reads=%s, hit rate=%.1f%%, avg miss wait=%.2fms, avg queue depth=%.1f",
+                    samples(),
+                    100F * (1F - missRate()),
+                    averageMissNanos() / 1_000_000.0,
+                    averageDepth());
+        }
+    }
+
+    public static class Recommendation {
+
+        public final int tileSize;
+        public final int batchCount;
+        public final int threadCount;
+        public final boolean batching;
+
+        private Recommendation(int tileSize, int batchCount, int threadCount, boolean batching) {
+            this.tileSize = tileSize;
+            this.batchCount = batchCount;
+            this.threadCount = threadCount;
+            this.batching = batching;
+        }
+
+        public boolean isChanged(CommentedConfig config) {
+            return tileSize != config.getInt("tile_size")
+                    || batchCount != config.getInt("batch_count")
+                    || threadCount != config.getInt("thread_count")
+                    || batching != config.getOrElse("batching", PerfDefaults.BATCHING);
+        }
+
+        private void apply(CommentedConfig config) {
+            config.set("tile_size", tileSize);
+            config.set("batch_count", batchCount);
+            config.set("thread_count", threadCount);
+            config.set("batching", batching);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("tile_size=%s, batch_count=%s, thread_count=%s, batching=%s", tileSize, batchCount, threadCount, batching);
+        }
+    }
+}
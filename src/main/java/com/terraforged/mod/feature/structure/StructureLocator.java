@@ -29,6 +29,7 @@ import com.terraforged.engine.concurrent.Resource;
 import com.terraforged.mod.Log;
 import com.terraforged.mod.biome.provider.TFBiomeProvider;
 import com.terraforged.mod.chunk.TFChunkGenerator;
+import com.terraforged.mod.util.ExecutorUtils;
 import net.minecraft.util.SharedSeedRandom;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.ChunkPos;
@@ -42,15 +43,23 @@ import net.minecraft.world.gen.feature.structure.StructureManager;
 import net.minecraft.world.gen.feature.structure.StructureStart;
 import net.minecraft.world.gen.settings.StructureSeparationSettings;
 
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
 public class StructureLocator {
 
     private static final int SEARCH_BATCH_SIZE = 100;
+    private static final int SEGMENT_SIZE = 64;
+    private static final ForkJoinPool POOL = ExecutorUtils.createBounded("StructureLocator", Runtime.getRuntime().availableProcessors() / 2);
 
     public static BlockPos findStructure(TFChunkGenerator generator, IWorld world, StructureManager manager, Structure<?> structure, BlockPos center, int attempts, boolean first, StructureSeparationSettings settings) {
         return findStructure(generator, world, manager, structure, center, attempts, first, settings, 5_000L);
     }
 
-    // TODO: Consider splitting search area into concurrent search regions?
+    // Each ring of candidate chunks is biome-filtered on the worker pool (one ring ahead of the calling thread),
+    // then the surviving candidates are checked for structure starts on the calling thread in the same order as
+    // a serial search so that the nearest result remains deterministic.
     public static BlockPos findStructure(TFChunkGenerator generator, IWorld world, StructureManager manager, Structure<?> structure, BlockPos center, int radius, boolean first, StructureSeparationSettings settings, long timeout) {
         long seed = generator.getSeed();
         int separation = settings.func_236668_a_();
@@ -63,61 +72,129 @@ public class StructureLocator {
         int searchCount = 0;
         long searchTimeout = System.currentTimeMillis() + timeout;
 
-        try (Resource<Cell> resource = Cell.pooled()) {
-            Cell cell = resource.get();
-
+        Ring next = new Ring(chunkX, chunkZ, separation, 0).filter(biomeProvider, structure);
+        try {
             for (int dr = 0; dr <= radius; ++dr) {
-                for (int dx = -dr; dx <= dr; ++dx) {
-                    boolean flag = dx == -dr || dx == dr;
-
-                    for (int dz = -dr; dz <= dr; ++dz) {
-                        boolean flag1 = dz == -dr || dz == dr;
-                        if (flag || flag1) {
-                            int cx = chunkX + separation * dx;
-                            int cz = chunkZ + separation * dz;
-
-                            if (searchCount++ > SEARCH_BATCH_SIZE) {
-                                searchCount = 0;
-                                long now = System.currentTimeMillis();
-                                if (now > searchTimeout) {
-                                    Log.warn("Structure search took too long! {}", structure.getRegistryName());
-                                    return null;
-                                }
-                            }
-
-                            int x = cx << 4;
-                            int z = cz << 4;
-                            Biome biome = biomeProvider.fastLookupBiome(cell, x, z);
-                            if (!biome.getGenerationSettings().hasStructure(structure)) {
-                                continue;
-                            }
-
-                            ChunkPos chunkpos = structure.getChunkPosForStructure(settings, seed, sharedseedrandom, cx, cz);
-                            IChunk ichunk = world.getChunk(chunkpos.x, chunkpos.z, ChunkStatus.STRUCTURE_STARTS);
-                            StructureStart<?> start = manager.getStructureStart(SectionPos.from(ichunk.getPos(), 0), structure, ichunk);
-                            if (start != null && start.isValid()) {
-                                if (first && start.isRefCountBelowMax()) {
-                                    start.incrementRefCount();
-                                    return start.getPos();
-                                }
-
-                                if (!first) {
-                                    return start.getPos();
-                                }
-                            }
-
-                            if (dr == 0) {
-                                break;
-                            }
+                Ring ring = next.join();
+
+                // start filtering the next ring while this one is checked
+                next = dr < radius ? new Ring(chunkX, chunkZ, separation, dr + 1).filter(biomeProvider, structure) : null;
+
+                for (int i = 0; i < ring.size; i++) {
+                    if (searchCount++ > SEARCH_BATCH_SIZE) {
+                        searchCount = 0;
+                        long now = System.currentTimeMillis();
+                        if (now > searchTimeout) {
+                            Log.warn("Structure search took too long! {}", structure.getRegistryName());
+                            return null;
                         }
                     }
 
-                    if (dr == 0) {
-                        break;
+                    if (!ring.valid[i]) {
+                        continue;
+                    }
+
+                    ChunkPos chunkpos = structure.getChunkPosForStructure(settings, seed, sharedseedrandom, ring.x[i], ring.z[i]);
+                    IChunk ichunk = world.getChunk(chunkpos.x, chunkpos.z, ChunkStatus.STRUCTURE_STARTS);
+                    StructureStart<?> start = manager.getStructureStart(SectionPos.from(ichunk.getPos(), 0), structure, ichunk);
+                    if (start != null && start.isValid()) {
+                        if (first && start.isRefCountBelowMax()) {
+                            start.incrementRefCount();
+                            return start.getPos();
+                        }
+
+                        if (!first) {
+                            return start.getPos();
+                        }
                     }
                 }
             }
+        } finally {
+            if (next != null) {
+                next.cancel();
+            }
         }
         return null;
     }
+
+    private static class Ring {
+
+        private final int size;
+        private final int[] x;
+        private final int[] z;
+        private final boolean[] valid;
+        private ForkJoinTask<Void> task;
+
+        // collects the chunk coords on the perimeter of the ring in the same order as the original serial search
+        private Ring(int chunkX, int chunkZ, int separation, int dr) {
+            this.size = dr == 0 ? 1 : dr * 8;
+            this.x = new int[size];
+            this.z = new int[size];
+            this.valid = new boolean[size];
+
+            int i = 0;
+            for (int dx = -dr; dx <= dr; ++dx) {
+                boolean flag = dx == -dr || dx == dr;
+                for (int dz = -dr; dz <= dr; ++dz) {
+                    boolean flag1 = dz == -dr || dz == dr;
+                    if (flag || flag1) {
+                        x[i] = chunkX + separation * dx;
+                        z[i] = chunkZ + separation * dz;
+                        i++;
+                    }
+                }
+            }
+        }
+
+        private Ring filter(TFBiomeProvider biomeProvider, Structure<?> structure) {
+            task = POOL.submit(new RingFilter(this, 0, size, biomeProvider, structure));
+            return this;
+        }
+
+        private Ring join() {
+            task.join();
+            return this;
+        }
+
+        private void cancel() {
+            task.cancel(false);
+        }
+    }
+
+    private static class RingFilter extends RecursiveAction {
+
+        private final Ring ring;
+        private final int from;
+        private final int to;
+        private final TFBiomeProvider biomeProvider;
+        private final Structure<?> structure;
+
+        private RingFilter(Ring ring, int from, int to, TFBiomeProvider biomeProvider, Structure<?> structure) {
+            this.ring = ring;
+            this.from = from;
+            this.to = to;
+            this.biomeProvider = biomeProvider;
+            this.structure = structure;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > SEGMENT_SIZE) {
+                int mid = (from + to) >>> 1;
+                invokeAll(
+                        new RingFilter(ring, from, mid, biomeProvider, structure),
+                        new RingFilter(ring, mid, to, biomeProvider, structure)
+                );
+                return;
+            }
+
+            try (Resource<Cell> resource = Cell.pooled()) {
+                Cell cell = resource.get();
+                for (int i = from; i < to; i++) {
+                    Biome biome = biomeProvider.fastLookupBiome(cell, ring.x[i] << 4, ring.z[i] << 4);
+                    ring.valid[i] = biome.getGenerationSettings().hasStructure(structure);
+                }
+            }
+        }
+    }
 }
@@ -0,0 +1,106 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 TerraForged
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.terraforged.mod.feature.structure;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
+import net.minecraft.util.math.MutableBoundingBox;
+import net.minecraft.world.gen.feature.structure.Structure;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Holds the terrain-fit pieces of each structure start so that the start is only looked up & filtered once,
+ * rather than once for every chunk that references it. Entries are evicted when every chunk the start's
+ * bounding box covers has consumed it, or when the cache exceeds its capacity (least-recently used first).
+ */
+public class StructurePieceCache {
+
+    private static final int CAPACITY = 128;
+
+    private final Map<Structure<?>, Long2ObjectLinkedOpenHashMap<Entry>> cache = new IdentityHashMap<>();
+
+    public StructurePieceCache(Structure<?>[] structures) {
+        for (Structure<?> structure : structures) {
+            cache.put(structure, new Long2ObjectLinkedOpenHashMap<>());
+        }
+    }
+
+    /**
+     * Returns the cached pieces of the start located at chunk id, or null if not cached.
+     * Each call counts as one referencing chunk having consumed the entry.
+     */
+    public TerrainPiece[] get(Structure<?> structure, long id) {
+        Long2ObjectLinkedOpenHashMap<Entry> entries = cache.get(structure);
+        synchronized (entries) {
+            Entry entry = entries.getAndMoveToLast(id);
+            if (entry == null) {
+                return null;
+            }
+            if (--entry.remaining <= 0) {
+                entries.remove(id);
+            }
+            return entry.pieces;
+        }
+    }
+
+    /**
+     * Caches the pieces of the start located at chunk id. The call counts as the first referencing chunk.
+     */
+    public void put(Structure<?> structure, long id, MutableBoundingBox bounds, TerrainPiece[] pieces) {
+        int remaining = getChunkCount(bounds) - 1;
+        if (remaining <= 0) {
+            return;
+        }
+
+        Long2ObjectLinkedOpenHashMap<Entry> entries = cache.get(structure);
+        synchronized (entries) {
+            if (entries.containsKey(id)) {
+                return;
+            }
+            entries.putAndMoveToLast(id, new Entry(pieces, remaining));
+            if (entries.size() > CAPACITY) {
+                entries.removeFirst();
+            }
+        }
+    }
+
+    private static int getChunkCount(MutableBoundingBox bounds) {
+        int chunksX = (bounds.maxX >> 4) - (bounds.minX >> 4) + 1;
+        int chunksZ = (bounds.maxZ >> 4) - (bounds.minZ >> 4) + 1;
+        return chunksX * chunksZ;
+    }
+
+    private static class Entry {
+
+        private final TerrainPiece[] pieces;
+        private int remaining;
+
+        private Entry(TerrainPiece[] pieces, int remaining) {
+            this.pieces = pieces;
+            this.remaining = remaining;
+        }
+    }
+}
@@ -28,7 +28,6 @@ import com.terraforged.mod.api.material.state.States;
 import com.terraforged.noise.util.NoiseUtil;
 import it.unimi.dsi.fastutil.longs.LongIterator;
 import it.unimi.dsi.fastutil.longs.LongSet;
-import it.unimi.dsi.fastutil.objects.ObjectListIterator;
 import net.minecraft.block.BlockState;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.ChunkPos;
@@ -42,11 +41,13 @@ import net.minecraft.world.gen.feature.structure.Structure;
 import net.minecraft.world.gen.feature.structure.StructurePiece;
 import net.minecraft.world.gen.feature.structure.StructureStart;
 
+import java.util.ArrayList;
 import java.util.List;
 
 public class StructureTerrain {
 
     private static final Structure<?>[] EMPTY_ARRAY = new Structure[0];
+    private static final TerrainPiece[] EMPTY_PIECES = new TerrainPiece[0];
 
     private static final int MIN_RADIUS = 4;
     private static final int MAX_RADIUS = 10;
@@ -55,6 +56,7 @@ public class StructureTerrain {
     private final float overhang;
     private final float overhang2;
     private final Structure<?>[] structures = getTerrainFitStructures().toArray(EMPTY_ARRAY);
+    private final StructurePieceCache cache = new StructurePieceCache(structures);
     private final ThreadLocal<StructureTerrainResource> resource = ThreadLocal.withInitial(StructureTerrainResource::new);
 
     // base - the size of the base built up around a piece as a percentage of its bounding box size
@@ -68,6 +70,10 @@ public class StructureTerrain {
     public void apply(IWorld world, IChunk chunk) {
         StructureTerrainResource resource = this.resource.get().reset();
         collectPieces(world, chunk, resource);
+        if (resource.pieces.isEmpty()) {
+            return;
+        }
+        resource.index(chunk.getPos().getXStart(), chunk.getPos().getZStart());
         buildBases(chunk, resource);
     }
 
@@ -82,36 +88,57 @@ public class StructureTerrain {
             LongIterator structureIds = set.iterator();
             while (structureIds.hasNext()) {
                 long id = structureIds.nextLong();
-                ChunkPos structurePos = new ChunkPos(id);
-                IChunk neighbourChunk = world.getChunk(structurePos.asBlockPos());
-                StructureStart<?> structureStart = neighbourChunk.getStructureStarts().get(structure);
-                if (structureStart != null && structureStart.isValid()) {
-                    for (StructurePiece structurepiece : structureStart.getComponents()) {
-                        // collect if piece is within radius of the chunk
-                        if (structurepiece.func_214810_a(pos, 16)) {
-                            collectPiece(structurepiece, resource.pieces);
-                        }
+                TerrainPiece[] pieces = getPieces(world, structure, id);
+                for (TerrainPiece piece : pieces) {
+                    // collect if piece is within radius of the chunk
+                    if (piece.piece.func_214810_a(pos, 16)) {
+                        resource.pieces.add(piece);
                     }
                 }
             }
         }
     }
 
+    private TerrainPiece[] getPieces(IWorld world, Structure<?> structure, long id) {
+        TerrainPiece[] pieces = cache.get(structure, id);
+        if (pieces != null) {
+            return pieces;
+        }
+
+        ChunkPos structurePos = new ChunkPos(id);
+        IChunk neighbourChunk = world.getChunk(structurePos.asBlockPos());
+        StructureStart<?> structureStart = neighbourChunk.getStructureStarts().get(structure);
+        if (structureStart == null || !structureStart.isValid()) {
+            return EMPTY_PIECES;
+        }
+
+        List<TerrainPiece> list = new ArrayList<>(structureStart.getComponents().size());
+        for (StructurePiece structurepiece : structureStart.getComponents()) {
+            collectPiece(structurepiece, list, radiusScale);
+        }
+
+        pieces = list.toArray(EMPTY_PIECES);
+        cache.put(structure, id, structureStart.getBoundingBox(), pieces);
+        return pieces;
+    }
+
     // lowers or raises the terrain matcher the base height of each structure piece
     private void buildBases(IChunk chunk, StructureTerrainResource resource) {
         final int chunkStartX = chunk.getPos().getXStart();
         final int chunkStartZ = chunk.getPos().getZStart();
-        final ObjectListIterator<StructurePiece> iterator = resource.iterator;
-
         final BlockPos.Mutable mutablePos = resource.mutablePos;
-        final MutableBoundingBox utilBounds = resource.mutableBounds;
-        final MutableBoundingBox chunkBounds = assignChunk(resource.chunkBounds, chunkStartX, chunkStartZ);
 
         final BlockState air = States.AIR.get();
         final BlockState solid = States.STONE.get();
 
         for (int dz = 0; dz < 16; dz++) {
             for (int dx = 0; dx < 16; dx++) {
+                // only visits pieces whose expanded bounds overlap this column's 4x4 cell
+                List<TerrainPiece> pieces = resource.getCell(dx, dz);
+                if (pieces.isEmpty()) {
+                    continue;
+                }
+
                 int x = chunkStartX + dx;
                 int z = chunkStartZ + dz;
                 int surface = chunk.getTopBlockY(Heightmap.Type.OCEAN_FLOOR_WG, dx, dz);
@@ -119,33 +146,27 @@ public class StructureTerrain {
 
                 int highestOffset = 0;
                 StructurePiece highest = null;
-                while (iterator.hasNext()) {
-                    StructurePiece piece = iterator.next();
-                    MutableBoundingBox pieceBounds = piece.getBoundingBox();
-                    int length = Math.min(pieceBounds.maxX - pieceBounds.minX, pieceBounds.maxZ - pieceBounds.minZ);
-                    int borderRadius = Math.min(MIN_RADIUS, Math.max(MAX_RADIUS, NoiseUtil.round(length * radiusScale)));
-
-                    if (!intersects(chunkBounds, pieceBounds, utilBounds, borderRadius)) {
+                for (int i = 0; i < pieces.size(); i++) {
+                    TerrainPiece piece = pieces.get(i);
+                    if (!piece.covers(x, z)) {
                         continue;
                     }
 
-                    int offset = getGroundLevelDelta(piece);
+                    MutableBoundingBox pieceBounds = piece.bounds;
+                    int offset = piece.groundLevelDelta;
                     int level = pieceBounds.minY + offset;
                     if (level > y) {
-                        y = raise(pieceBounds, mutablePos.setPos(x, surface, z), level, y, borderRadius);
+                        y = raise(pieceBounds, mutablePos.setPos(x, surface, z), level, y, piece.borderRadius);
                     }
 
                     if (x > pieceBounds.minX && x < pieceBounds.maxX && z > pieceBounds.minZ && z < pieceBounds.maxZ) {
                         if (highest == null || pieceBounds.minY > highest.getBoundingBox().minY) {
-                            highest = piece;
+                            highest = piece.piece;
                             highestOffset = offset;
                         }
                     }
                 }
 
-                // reset iterator for next pass
-                resource.rewind();
-
                 if (y > surface) {
                     int delta = (int) y - surface;
                     for (int dy = 0; dy < delta; dy++) {
@@ -180,20 +201,6 @@ public class StructureTerrain {
         }
     }
 
-    private static boolean intersects(MutableBoundingBox chunk, MutableBoundingBox structure, MutableBoundingBox util, int radius) {
-        expand(structure, util, radius);
-        return chunk.intersectsWith(util);
-    }
-
-    private static void expand(MutableBoundingBox src, MutableBoundingBox dest, int radius) {
-        dest.minY = src.minY;
-        dest.maxY = src.maxY;
-        dest.minX = src.minX - radius;
-        dest.minZ = src.minZ - radius;
-        dest.maxX = src.maxX + radius;
-        dest.maxZ = src.maxZ + radius;
-    }
-
     private static float raise(MutableBoundingBox bounds, BlockPos.Mutable pos, float level, float surface, int borderRadius) {
         float radius2 = Math.max(1, borderRadius * borderRadius);
         float distAlpha = 1 - getDistAlpha(pos.getX(), pos.getZ(), bounds, radius2);
@@ -213,18 +220,24 @@ public class StructureTerrain {
         return dx * dx + dz * dz;
     }
 
-    private static void collectPiece(StructurePiece structurepiece, List<StructurePiece> list) {
+    private static void collectPiece(StructurePiece structurepiece, List<TerrainPiece> list, float radiusScale) {
         if (structurepiece instanceof AbstractVillagePiece) {
             AbstractVillagePiece piece = (AbstractVillagePiece) structurepiece;
             JigsawPattern.PlacementBehaviour placement = piece.getJigsawPiece().getPlacementBehaviour();
             if (placement == JigsawPattern.PlacementBehaviour.RIGID) {
-                list.add(piece);
+                list.add(new TerrainPiece(piece, getBorderRadius(piece, radiusScale), getGroundLevelDelta(piece)));
             }
         } else {
-            list.add(structurepiece);
+            list.add(new TerrainPiece(structurepiece, getBorderRadius(structurepiece, radiusScale), getGroundLevelDelta(structurepiece)));
         }
     }
 
+    private static int getBorderRadius(StructurePiece piece, float radiusScale) {
+        MutableBoundingBox pieceBounds = piece.getBoundingBox();
+        int length = Math.min(pieceBounds.maxX - pieceBounds.minX, pieceBounds.maxZ - pieceBounds.minZ);
+        return Math.min(MIN_RADIUS, Math.max(MAX_RADIUS, NoiseUtil.round(length * radiusScale)));
+    }
+
     private static int getGroundLevelDelta(StructurePiece piece) {
         if (piece instanceof AbstractVillagePiece) {
             return ((AbstractVillagePiece) piece).getGroundLevelDelta();
@@ -245,24 +258,6 @@ public class StructureTerrain {
         return d2 / radius2;
     }
 
-    private static MutableBoundingBox assignChunk(MutableBoundingBox box, int startX, int startZ) {
-        return assign2D(box, startX, startZ, startX + 15, startZ + 15);
-    }
-
-    private static MutableBoundingBox assign2D(MutableBoundingBox box, int x1, int z1, int x2, int z2) {
-        return assign(box, x1, 0, z1, x2, 255, z2);
-    }
-
-    private static MutableBoundingBox assign(MutableBoundingBox box, int x1, int y1, int z1, int x2, int y2, int z2) {
-        box.minX = x1;
-        box.maxX = x2;
-        box.minY = y1;
-        box.maxY = y2;
-        box.minZ = z1;
-        box.maxZ = z2;
-        return box;
-    }
-
     private static List<Structure<?>> getTerrainFitStructures() {
         return Structure.field_236384_t_;
     }
@@ -25,29 +25,57 @@
 package com.terraforged.mod.feature.structure;
 
 import it.unimi.dsi.fastutil.objects.ObjectArrayList;
-import it.unimi.dsi.fastutil.objects.ObjectListIterator;
 import net.minecraft.util.math.BlockPos;
-import net.minecraft.util.math.MutableBoundingBox;
-import net.minecraft.world.gen.feature.structure.StructurePiece;
 
 public class StructureTerrainResource {
 
+    // the chunk is split into a 4x4 grid of 4x4 column cells
+    private static final int CELL_SHIFT = 2;
+    private static final int GRID_SIZE = 16 >> CELL_SHIFT;
+
     public final BlockPos.Mutable mutablePos = new BlockPos.Mutable();
-    public final MutableBoundingBox mutableBounds = new MutableBoundingBox();
-    public final MutableBoundingBox chunkBounds = new MutableBoundingBox();
-    public final ObjectArrayList<StructurePiece> pieces = new ObjectArrayList<>(16);
-    public final ObjectListIterator<StructurePiece> iterator = pieces.iterator();
+    public final ObjectArrayList<TerrainPiece> pieces = new ObjectArrayList<>(16);
+    private final ObjectArrayList<TerrainPiece>[] grid = createGrid();
 
     public StructureTerrainResource reset() {
         mutablePos.setPos(BlockPos.ZERO);
-        rewind();
         pieces.clear();
+        for (ObjectArrayList<TerrainPiece> cell : grid) {
+            cell.clear();
+        }
         return this;
     }
 
-    public void rewind() {
-        while (iterator.hasPrevious()) {
-            iterator.previous();
+    // buckets each collected piece into every grid cell that its expanded bounds overlap within the chunk
+    public void index(int chunkStartX, int chunkStartZ) {
+        for (int i = 0; i < pieces.size(); i++) {
+            TerrainPiece piece = pieces.get(i);
+            int minX = Math.max(0, piece.bounds.minX - piece.borderRadius - chunkStartX);
+            int minZ = Math.max(0, piece.bounds.minZ - piece.borderRadius - chunkStartZ);
+            int maxX = Math.min(15, piece.bounds.maxX + piece.borderRadius - chunkStartX);
+            int maxZ = Math.min(15, piece.bounds.maxZ + piece.borderRadius - chunkStartZ);
+            if (minX > maxX || minZ > maxZ) {
+                continue;
+            }
+
+            for (int cz = minZ >> CELL_SHIFT; cz <= maxZ >> CELL_SHIFT; cz++) {
+                for (int cx = minX >> CELL_SHIFT; cx <= maxX >> CELL_SHIFT; cx++) {
+                    grid[cz * GRID_SIZE + cx].add(piece);
+                }
+            }
+        }
+    }
+
+    public ObjectArrayList<TerrainPiece> getCell(int dx, int dz) {
+        return grid[(dz >> CELL_SHIFT) * GRID_SIZE + (dx >> CELL_SHIFT)];
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ObjectArrayList<TerrainPiece>[] createGrid() {
+        ObjectArrayList<TerrainPiece>[] grid = new ObjectArrayList[GRID_SIZE * GRID_SIZE];
+        for (int i = 0; i < grid.length; i++) {
+            grid[i] = new ObjectArrayList<>(4);
         }
+        return grid;
     }
 }
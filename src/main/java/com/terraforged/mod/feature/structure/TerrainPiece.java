@@ -0,0 +1,49 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 TerraForged
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.terraforged.mod.feature.structure;
+
+import net.minecraft.util.math.MutableBoundingBox;
+import net.minecraft.world.gen.feature.structure.StructurePiece;
+
+public class TerrainPiece {
+
+    public final StructurePiece piece;
+    public final MutableBoundingBox bounds;
+    public final int borderRadius;
+    public final int groundLevelDelta;
+
+    public TerrainPiece(StructurePiece piece, int borderRadius, int groundLevelDelta) {
+        this.piece = piece;
+        this.bounds = piece.getBoundingBox();
+        this.borderRadius = borderRadius;
+        this.groundLevelDelta = groundLevelDelta;
+    }
+
+    // true if the x,z position falls within the piece's bounds expanded by its border radius
+    public boolean covers(int x, int z) {
+        return x >= bounds.minX - borderRadius && x <= bounds.maxX + borderRadius
+                && z >= bounds.minZ - borderRadius && z <= bounds.maxZ + borderRadius;
+    }
+}
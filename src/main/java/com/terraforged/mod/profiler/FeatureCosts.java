@@ -0,0 +1,236 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 TerraForged
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.terraforged.mod.profiler;
+
+import com.terraforged.mod.featuremanager.util.identity.FeatureIdentifier;
+import net.minecraft.world.biome.Biome;
+import net.minecraft.world.gen.feature.structure.Structure;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Accumulates the time spent generating each feature/structure, broken down by the biome it was generated in.
+ *
+ * Recording is off until enabled (see /terra benchmark features start). Entries are keyed by the feature/structure
+ * and Biome instances themselves so the hot path never builds strings - names are only resolved when reporting.
+ */
+public class FeatureCosts<K> {
+
+    public static final FeatureCosts<FeatureIdentifier> FEATURES = new FeatureCosts<>("Feature", FeatureIdentifier::getComponents);
+    public static final FeatureCosts<Structure<?>> STRUCTURES = new FeatureCosts<>("Structure", Structure::getStructureName);
+
+    private static final String CSV_HEADER = "type,identifier,biome,calls,placements,total_ms,mean_ms";
+
+    private static volatile boolean enabled = false;
+
+    private final String type;
+    private final Function<K, String> namer;
+    private final Map<K, Map<Biome, Cost>> costs = new ConcurrentHashMap<>();
+
+    private FeatureCosts(String type, Function<K, String> namer) {
+        this.type = type;
+        this.namer = namer;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void record(K identity, Biome biome, long nanos, boolean placed) {
+        getCost(identity, biome).add(nanos, placed);
+    }
+
+    public void reset() {
+        costs.clear();
+    }
+
+    /**
+     * @return the accumulated cost of each feature/structure across all biomes
+     */
+    public List<Summary> summarize() {
+        // distinct instances may share a name so merge by name
+        Map<String, Summary> summaries = new LinkedHashMap<>(costs.size());
+        for (Map.Entry<K, Map<Biome, Cost>> entry : costs.entrySet()) {
+            String name = namer.apply(entry.getKey());
+            Summary summary = summaries.computeIfAbsent(name, k -> new Summary(type, k));
+            for (Cost cost : entry.getValue().values()) {
+                summary.add(cost);
+            }
+        }
+        return new ArrayList<>(summaries.values());
+    }
+
+    public void writeCSV(BufferedWriter writer, Function<Biome, String> biomeNamer) throws IOException {
+        for (Map.Entry<K, Map<Biome, Cost>> entry : costs.entrySet()) {
+            String name = namer.apply(entry.getKey());
+            for (Map.Entry<Biome, Cost> biome : entry.getValue().entrySet()) {
+                Cost cost = biome.getValue();
+                long calls = cost.calls.sum();
+                long nanos = cost.nanos.sum();
+                writer.write(String.format("%s,%s,%s,%s,%s,%.3f,%.4f",
+                        type,
+                        escape(name),
+                        escape(biomeNamer.apply(biome.getKey())),
+                        calls,
+                        cost.placements.sum(),
+                        Profiler.toMS(nanos),
+                        Profiler.toMS(nanos / (double) Math.max(1, calls))));
+                writer.newLine();
+            }
+        }
+    }
+
+    private Cost getCost(K identity, Biome biome) {
+        // avoid computeIfAbsent on the hot path as it may lock the bin even when the mapping exists
+        Map<Biome, Cost> biomes = costs.get(identity);
+        if (biomes == null) {
+            biomes = costs.computeIfAbsent(identity, k -> new ConcurrentHashMap<>());
+        }
+
+        Cost cost = biomes.get(biome);
+        if (cost == null) {
+            cost = biomes.computeIfAbsent(biome, k -> new Cost());
+        }
+
+        return cost;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean enabled) {
+        FeatureCosts.enabled = enabled;
+    }
+
+    public static List<Summary> summarizeAll() {
+        List<Summary> list = FEATURES.summarize();
+        list.addAll(STRUCTURES.summarize());
+        list.sort(Comparator.comparingLong(Summary::getNanos).reversed());
+        return list;
+    }
+
+    public static void resetAll() {
+        FEATURES.reset();
+        STRUCTURES.reset();
+    }
+
+    public static Path dump(Path dir, Function<Biome, String> biomeNamer) throws IOException {
+        if (!Files.exists(dir)) {
+            Files.createDirectories(dir);
+        }
+
+        Path file = dir.resolve("feature-costs-" + System.currentTimeMillis() + ".csv");
+        try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+            writer.write(CSV_HEADER);
+            writer.newLine();
+            FEATURES.writeCSV(writer, biomeNamer);
+            STRUCTURES.writeCSV(writer, biomeNamer);
+        }
+        return file;
+    }
+
+    private static String escape(String value) {
+        if (value.indexOf(',') == -1 && value.indexOf('"') == -1) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private static class Cost {
+
+        private final LongAdder nanos = new LongAdder();
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder placements = new LongAdder();
+
+        private void add(long time, boolean placed) {
+            nanos.add(time);
+            calls.increment();
+            if (placed) {
+                placements.increment();
+            }
+        }
+    }
+
+    public static class Summary {
+
+        private final String type;
+        private final String identity;
+
+        private long nanos = 0L;
+        private long calls = 0L;
+        private long placements = 0L;
+
+        private Summary(String type, String identity) {
+            this.type = type;
+            this.identity = identity;
+        }
+
+        private void add(Cost cost) {
+            nanos += cost.nanos.sum();
+            calls += cost.calls.sum();
+            placements += cost.placements.sum();
+        }
+
+        public String getType() {
+            return type;
+        }
+
+        public String getIdentity() {
+            return identity;
+        }
+
+        public long getNanos() {
+            return nanos;
+        }
+
+        public long getCalls() {
+            return calls;
+        }
+
+        public long getPlacements() {
+            return placements;
+        }
+
+        public double getTotalMS() {
+            return Profiler.toMS(nanos);
+        }
+
+        public double getMeanMS() {
+            return Profiler.toMS(nanos / (double) Math.max(1, calls));
+        }
+    }
+}
@@ -24,6 +24,7 @@
 
 package com.terraforged.mod.profiler;
 
+import com.terraforged.mod.profiler.timings.LatencyHistogram;
 import net.minecraft.util.text.ITextComponent;
 import net.minecraft.util.text.StringTextComponent;
 import net.minecraft.util.text.TextFormatting;
@@ -35,8 +36,8 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Arrays;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicLong;
 
 public enum Profiler {
     STRUCTURE_STARTS("structure starts"),
@@ -50,11 +51,8 @@ public enum Profiler {
     MOB_SPAWNS("mob spawns"),
     ;
 
-    private final AtomicLong time = new AtomicLong();
-    private final AtomicLong hits = new AtomicLong();
-    private final AtomicLong longest = new AtomicLong();
-    private final AtomicLong shortest = new AtomicLong(Long.MAX_VALUE);
-    private final ThreadLocal<Section> section = ThreadLocal.withInitial(ProfilerSection::new);
+    private final LatencyHistogram histogram = new LatencyHistogram();
+    private final ThreadLocal<ProfilerSection> section = ThreadLocal.withInitial(ProfilerSection::new);
 
     private final String reportDescription;
 
@@ -74,36 +72,61 @@ public enum Profiler {
         section.get().close();
     }
 
+    /**
+     * @return the timings recorded since the profiler was last reset
+     */
+    public LatencyHistogram.Snapshot getStats() {
+        return histogram.getTotal();
+    }
+
+    /**
+     * @return the timings recorded over the current minute and the given number of preceding minutes
+     */
+    public LatencyHistogram.Snapshot getStats(int minutes) {
+        return histogram.getWindow(minutes);
+    }
+
+    /**
+     * @return every timing recorded by this profiler, ignoring resets
+     */
+    public LatencyHistogram.Snapshot getLifetimeStats() {
+        return histogram.getLifetime();
+    }
+
     public long timeMS() {
-        return TimeUnit.NANOSECONDS.toMillis(time.get());
+        return TimeUnit.NANOSECONDS.toMillis(getStats().totalNanos());
     }
 
     public long minMS() {
-        long min = shortest.get();
-        if (min == Long.MAX_VALUE) {
-            return 0;
-        }
-        return TimeUnit.NANOSECONDS.toMillis(min);
+        return TimeUnit.NANOSECONDS.toMillis(getStats().minNanos());
     }
 
     public long maxMS() {
-        return TimeUnit.NANOSECONDS.toMillis(longest.get());
+        return TimeUnit.NANOSECONDS.toMillis(getStats().maxNanos());
     }
 
     public long hits() {
-        return hits.get();
+        return getStats().count();
     }
 
     public double averageMS() {
-        return timeMS() / Math.max(1.0, hits());
+        return toMS(getStats().meanNanos());
+    }
+
+    public double percentileMS(double percentile) {
+        return toMS(getStats().percentileNanos(percentile));
     }
 
     public ITextComponent toText() {
+        return toText(getStats());
+    }
+
+    public ITextComponent toText(LatencyHistogram.Snapshot stats) {
         return new StringTextComponent(name().toLowerCase())
-                .append(new StringTextComponent(String.format(": %.3fms", averageMS()))
+                .append(new StringTextComponent(String.format(": %.3fms", toMS(stats.meanNanos())))
                         .modifyStyle(style -> style.forceFormatting(TextFormatting.WHITE)))
                 .modifyStyle(style -> style.applyFormatting(TextFormatting.YELLOW)
-                        .setHoverEvent(createHoverStats(minMS(), maxMS())));
+                        .setHoverEvent(createHoverStats(stats)));
     }
 
     public static Profiler get(GenerationStage.Carving stage) {
@@ -116,12 +139,26 @@ public enum Profiler {
                 new StringTextComponent(message).modifyStyle(s -> s.forceFormatting(TextFormatting.WHITE)));
     }
 
+    public static HoverEvent createHoverStats(LatencyHistogram.Snapshot stats) {
+        String message = String.format("Count: %s, Min: %.3fms, P50: %.3fms, P90: %.3fms, P99: %.3fms, P99.9: %.3fms, Max: %.3fms",
+                stats.count(),
+                toMS(stats.minNanos()),
+                toMS(stats.percentileNanos(50)),
+                toMS(stats.percentileNanos(90)),
+                toMS(stats.percentileNanos(99)),
+                toMS(stats.percentileNanos(99.9)),
+                toMS(stats.maxNanos()));
+        return new HoverEvent(HoverEvent.Action.SHOW_TEXT,
+                new StringTextComponent(message).modifyStyle(s -> s.forceFormatting(TextFormatting.WHITE)));
+    }
+
+    public static double toMS(double nanos) {
+        return nanos / 1_000_000.0;
+    }
+
     public static void reset() {
         for (Profiler profiler : Profiler.values()) {
-            profiler.time.set(0);
-            profiler.hits.set(0);
-            profiler.longest.set(0);
-            profiler.shortest.set(Long.MAX_VALUE);
+            profiler.histogram.reset();
         }
     }
 
@@ -143,35 +180,28 @@ public enum Profiler {
         }
     }
 
+    // Keeps a stack of start times so that sections may be nested/re-entered on the same thread
     private class ProfilerSection implements Section {
 
-        private long timestamp = 0L;
+        private long[] timestamps = new long[4];
+        private int depth = 0;
 
         @Override
         public Section punchIn() {
-            timestamp = System.nanoTime();
+            if (depth == timestamps.length) {
+                timestamps = Arrays.copyOf(timestamps, depth * 2);
+            }
+            timestamps[depth++] = System.nanoTime();
             return this;
         }
 
         @Override
         public void close() {
-            long duration = System.nanoTime() - timestamp;
-            time.addAndGet(duration);
-            hits.incrementAndGet();
-
-            if (duration <= 0) {
+            if (depth == 0) {
                 return;
             }
-
-            long max = longest.get();
-            if (duration > max) {
-                longest.compareAndSet(max, duration);
-            }
-
-            long min = shortest.get();
-            if (duration < min) {
-                shortest.compareAndSet(min, duration);
-            }
+            long duration = System.nanoTime() - timestamps[--depth];
+            histogram.record(duration);
         }
     }
 }
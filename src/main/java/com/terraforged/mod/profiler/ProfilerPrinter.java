@@ -24,35 +24,43 @@
 
 package com.terraforged.mod.profiler;
 
+import com.terraforged.mod.profiler.timings.LatencyHistogram;
+
 import java.io.IOException;
 import java.io.Writer;
 import java.util.Locale;
+import java.util.concurrent.TimeUnit;
 
 public class ProfilerPrinter {
 
-    private static final String FORMAT = "%1$-20s%2$-11s%3$-11s%4$-11s%5$-11s%6$-1s";
+    private static final String FORMAT = "%1$-20s%2$-11s%3$-11s%4$-11s%5$-11s%6$-11s%7$-11s%8$-11s%9$-11s%10$-1s";
 
     public static void print(Writer writer) throws IOException {
         print(writer, "");
     }
 
     public static void print(Writer writer, String indent) throws IOException {
-        writer.append(indent).append(String.format(FORMAT, "Section", "Count", "Time MS", "Min MS", "Max MS", "Average MS"));
+        writer.append(indent).append(String.format(FORMAT, "Section", "Count", "Time MS", "Min MS", "Max MS", "P50 MS", "P90 MS", "P99 MS", "P99.9 MS", "Average MS"));
 
         // table contents
         double averageSum = 0.0;
         for (Profiler profiler : Profiler.values()) {
             String name = profiler.name().toLowerCase(Locale.ROOT);
-            long hits = profiler.hits();
-            long time = profiler.timeMS();
-            long min = profiler.minMS();
-            long max = profiler.maxMS();
-            double average = profiler.averageMS();
-            writer.append("\n").append(indent).append(String.format(FORMAT, name, hits, time, min, max, fmt(average)));
+            LatencyHistogram.Snapshot stats = profiler.getStats();
+            long hits = stats.count();
+            long time = TimeUnit.NANOSECONDS.toMillis(stats.totalNanos());
+            String min = fmt(Profiler.toMS(stats.minNanos()));
+            String max = fmt(Profiler.toMS(stats.maxNanos()));
+            String p50 = fmt(Profiler.toMS(stats.percentileNanos(50)));
+            String p90 = fmt(Profiler.toMS(stats.percentileNanos(90)));
+            String p99 = fmt(Profiler.toMS(stats.percentileNanos(99)));
+            String p999 = fmt(Profiler.toMS(stats.percentileNanos(99.9)));
+            double average = Profiler.toMS(stats.meanNanos());
+            writer.append("\n").append(indent).append(String.format(FORMAT, name, hits, time, min, max, p50, p90, p99, p999, fmt(average)));
             averageSum += average;
         }
 
-        writer.append("\n").append(indent).append(String.format(FORMAT, "Sum", "", "", "", "", fmt(averageSum)));
+        writer.append("\n").append(indent).append(String.format(FORMAT, "Sum", "", "", "", "", "", "", "", "", fmt(averageSum)));
     }
 
 
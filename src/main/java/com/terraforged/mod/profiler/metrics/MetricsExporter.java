@@ -0,0 +1,236 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 TerraForged
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.terraforged.mod.profiler.metrics;
+
+import com.sun.net.httpserver.HttpServer;
+import com.terraforged.mod.Log;
+import com.terraforged.mod.config.ConfigManager;
+import com.terraforged.mod.config.PerfTuner;
+import com.terraforged.mod.profiler.Profiler;
+import com.terraforged.mod.profiler.timings.LatencyHistogram;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes the world-gen metrics via JMX MBeans and, optionally, in the Prometheus text format either over a
+ * local http endpoint or to a file (for use with node_exporter's textfile collector).
+ */
+public class MetricsExporter {
+
+    public static final String JMX_KEY = "metrics_jmx";
+    public static final String PORT_KEY = "metrics_port";
+    public static final String FILE_KEY = "metrics_file";
+
+    private static final String DOMAIN = "com.terraforged";
+    private static final String FILE_NAME = "terraforged.prom";
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+    private static final long FILE_INTERVAL = 15L;
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+
+    private static final WorldGenMetrics METRICS = new WorldGenMetrics();
+    private static final MetricsExporter INSTANCE = new MetricsExporter();
+
+    private final List<ObjectName> beans = new ArrayList<>();
+    private HttpServer httpServer = null;
+    private ExecutorService httpExecutor = null;
+    private ScheduledExecutorService fileWriter = null;
+
+    public static synchronized void start(File dumpsDir) {
+        INSTANCE.stopAll();
+        if (ConfigManager.GENERAL.load().getBool(JMX_KEY, true)) {
+            INSTANCE.registerBeans();
+        }
+
+        int port = ConfigManager.GENERAL.getInt(PORT_KEY, -1);
+        if (port > 0) {
+            INSTANCE.startHttp(port);
+        }
+
+        if (ConfigManager.GENERAL.getBool(FILE_KEY, false)) {
+            INSTANCE.startFile(new File(dumpsDir, FILE_NAME).toPath());
+        }
+    }
+
+    public static synchronized void stop() {
+        INSTANCE.stopAll();
+    }
+
+    // counters & summary totals are taken from lifetime stats, which ignore '/terra benchmark reset', as a decrease
+    // would look like a counter reset to rate()
+    public static void write(Writer writer) throws IOException {
+        PerfTuner.Stats tiles = PerfTuner.getLifetimeStats();
+        gauge(writer, "terraforged_tile_cache_hits_total", "counter", "Chunks whose heightmap tile was ready when first read", tiles.hits());
+        gauge(writer, "terraforged_tile_cache_misses_total", "counter", "Chunks that had to wait for their heightmap tile when first read", tiles.misses());
+        gauge(writer, "terraforged_tile_cache_miss_wait_seconds_total", "counter", "Time spent waiting on tile cache misses", tiles.missNanos() / 1.0E9);
+        gauge(writer, "terraforged_tile_queued_regions", "gauge", "Regions queued for generation but not yet read", METRICS.getQueuedRegions());
+        gauge(writer, "terraforged_searches_active", "gauge", "Locate searches in flight", METRICS.getActiveSearches());
+        gauge(writer, "terraforged_slow_items_total", "counter", "Features/structures that exceeded the warn time", METRICS.getSlowItems());
+        gauge(writer, "terraforged_watchdog_timeouts_total", "counter", "Chunks that exceeded the watchdog timeout", METRICS.getWatchdogTimeouts());
+
+        String name = "terraforged_stage_duration_seconds";
+        writer.write("# HELP " + name + " Chunk-generation stage durations (quantiles over the last " + LatencyHistogram.MAX_WINDOW_MINUTES + " minutes)\n");
+        writer.write("# TYPE " + name + " summary\n");
+        for (Profiler profiler : Profiler.values()) {
+            LatencyHistogram.Snapshot window = profiler.getStats(LatencyHistogram.MAX_WINDOW_MINUTES);
+            LatencyHistogram.Snapshot lifetime = profiler.getLifetimeStats();
+            String stage = profiler.name().toLowerCase(Locale.ROOT);
+            for (double quantile : QUANTILES) {
+                double seconds = window.percentileNanos(quantile * 100) / 1.0E9;
+                writer.write(String.format(Locale.ROOT, "%s{stage=\"%s\",quantile=\"%s\"} %.9f\n", name, stage, quantile, seconds));
+            }
+            writer.write(String.format(Locale.ROOT, "%s_sum{stage=\"%s\"} %.9f\n", name, stage, lifetime.totalNanos() / 1.0E9));
+            writer.write(String.format(Locale.ROOT, "%s_count{stage=\"%s\"} %d\n", name, stage, lifetime.count()));
+        }
+    }
+
+    private static void gauge(Writer writer, String name, String type, String help, Number value) throws IOException {
+        writer.write("# HELP " + name + " " + help + "\n");
+        writer.write("# TYPE " + name + " " + type + "\n");
+        writer.write(name + " " + value + "\n");
+    }
+
+    private static String toText() throws IOException {
+        StringWriter writer = new StringWriter(4096);
+        write(writer);
+        return writer.toString();
+    }
+
+    private void registerBeans() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            register(server, new ObjectName(DOMAIN, "type", "WorldGen"), METRICS);
+            for (Profiler profiler : Profiler.values()) {
+                String name = DOMAIN + ":type=Stage,name=" + profiler.name().toLowerCase(Locale.ROOT);
+                register(server, new ObjectName(name), new WorldGenMetrics.Stage(profiler));
+            }
+        } catch (JMException e) {
+            Log.err("Failed to register world-gen MBeans", e);
+        }
+    }
+
+    private void register(MBeanServer server, ObjectName name, Object bean) throws JMException {
+        if (server.isRegistered(name)) {
+            server.unregisterMBean(name);
+        }
+        server.registerMBean(bean, name);
+        beans.add(name);
+    }
+
+    private void startHttp(int port) {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+            server.createContext("/metrics", exchange -> {
+                try {
+                    byte[] body = toText().getBytes(StandardCharsets.UTF_8);
+                    exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+                    exchange.sendResponseHeaders(200, body.length);
+                    try (OutputStream out = exchange.getResponseBody()) {
+                        out.write(body);
+                    }
+                } finally {
+                    exchange.close();
+                }
+            });
+            httpExecutor = Executors.newSingleThreadExecutor(r -> createThread(r, "TF-Metrics-Http"));
+            server.setExecutor(httpExecutor);
+            server.start();
+            httpServer = server;
+            Log.info("Serving world-gen metrics on http://{}:{}/metrics", InetAddress.getLoopbackAddress().getHostAddress(), port);
+        } catch (IOException e) {
+            Log.err("Failed to start world-gen metrics endpoint on port {}", port, e);
+        }
+    }
+
+    private void startFile(Path path) {
+        fileWriter = Executors.newSingleThreadScheduledExecutor(r -> createThread(r, "TF-Metrics-File"));
+        fileWriter.scheduleAtFixedRate(() -> {
+            try {
+                Files.createDirectories(path.getParent());
+                // write to a temp file & move so collectors never read a partially written file
+                Path temp = path.resolveSibling(FILE_NAME + ".tmp");
+                Files.write(temp, toText().getBytes(StandardCharsets.UTF_8));
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (Throwable t) {
+                Log.err("Failed to write world-gen metrics to {}", path, t);
+            }
+        }, 0L, FILE_INTERVAL, TimeUnit.SECONDS);
+    }
+
+    private void stopAll() {
+        if (!beans.isEmpty()) {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            for (ObjectName name : beans) {
+                try {
+                    server.unregisterMBean(name);
+                } catch (JMException ignored) {
+
+                }
+            }
+            beans.clear();
+        }
+
+        if (httpServer != null) {
+            httpServer.stop(0);
+            httpServer = null;
+        }
+
+        if (httpExecutor != null) {
+            httpExecutor.shutdownNow();
+            httpExecutor = null;
+        }
+
+        if (fileWriter != null) {
+            fileWriter.shutdownNow();
+            fileWriter = null;
+        }
+    }
+
+    private static Thread createThread(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+}
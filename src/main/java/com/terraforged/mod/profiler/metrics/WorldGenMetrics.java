@@ -0,0 +1,133 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 TerraForged
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.terraforged.mod.profiler.metrics;
+
+import com.terraforged.mod.config.PerfTuner;
+import com.terraforged.mod.profiler.Profiler;
+import com.terraforged.mod.profiler.timings.LatencyHistogram;
+import com.terraforged.mod.server.command.search.SearchScheduler;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects the world-gen counters that aren't already held by the {@link Profiler} stages or the {@link PerfTuner}.
+ */
+public class WorldGenMetrics implements WorldGenMXBean {
+
+    private static final LongAdder SLOW_ITEMS = new LongAdder();
+    private static final LongAdder TIMEOUTS = new LongAdder();
+
+    public static void onSlowItem() {
+        SLOW_ITEMS.increment();
+    }
+
+    public static void onTimeout() {
+        TIMEOUTS.increment();
+    }
+
+    @Override
+    public long getTileHits() {
+        return PerfTuner.getStats().hits();
+    }
+
+    @Override
+    public long getTileMisses() {
+        return PerfTuner.getStats().misses();
+    }
+
+    @Override
+    public double getTileMissWaitMS() {
+        return Profiler.toMS(PerfTuner.getStats().averageMissNanos());
+    }
+
+    @Override
+    public int getQueuedRegions() {
+        return PerfTuner.getQueuedRegions();
+    }
+
+    @Override
+    public int getActiveSearches() {
+        return SearchScheduler.getActiveSearches();
+    }
+
+    @Override
+    public long getSlowItems() {
+        return SLOW_ITEMS.sum();
+    }
+
+    @Override
+    public long getWatchdogTimeouts() {
+        return TIMEOUTS.sum();
+    }
+
+    public static class Stage implements StageMXBean {
+
+        private final Profiler profiler;
+
+        public Stage(Profiler profiler) {
+            this.profiler = profiler;
+        }
+
+        @Override
+        public long getCount() {
+            return profiler.getStats().count();
+        }
+
+        @Override
+        public double getTotalMS() {
+            return Profiler.toMS(profiler.getStats().totalNanos());
+        }
+
+        @Override
+        public double getMeanMS() {
+            return Profiler.toMS(profiler.getStats().meanNanos());
+        }
+
+        @Override
+        public double getP50MS() {
+            return percentile(50);
+        }
+
+        @Override
+        public double getP90MS() {
+            return percentile(90);
+        }
+
+        @Override
+        public double getP99MS() {
+            return percentile(99);
+        }
+
+        @Override
+        public double getMaxMS() {
+            return Profiler.toMS(profiler.getStats().maxNanos());
+        }
+
+        private double percentile(double percentile) {
+            LatencyHistogram.Snapshot stats = profiler.getStats();
+            return Profiler.toMS(stats.percentileNanos(percentile));
+        }
+    }
+}
@@ -0,0 +1,283 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 TerraForged
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.terraforged.mod.profiler.timings;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A log-linear latency histogram. Each power-of-two range of values is split into 8 linear sub-buckets so that
+ * recorded values (and therefore reported percentiles) are accurate to within ~12.5%.
+ *
+ * Recording threads are spread over a fixed number of stripes (by thread id) to keep contention low without the
+ * memory growing with the number of threads that have ever recorded. Stripes are merged when the histogram is
+ * read. As well as running totals, each stripe keeps a ring of one-minute slices which allow the last few minutes
+ * to be reported on their own.
+ */
+public class LatencyHistogram {
+
+    public static final int MAX_WINDOW_MINUTES = 5;
+
+    private static final int SUB_BITS = 3;
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+    private static final int MAX_EXPONENT = 40; // ~18 minutes in nanoseconds
+    private static final int BUCKETS = (MAX_EXPONENT - SUB_BITS + 2) * SUB_COUNT;
+    private static final int SLICES = MAX_WINDOW_MINUTES + 1;
+    private static final long SLICE_MS = TimeUnit.MINUTES.toMillis(1);
+    private static final int STRIPES = Integer.highestOneBit(Math.min(8, Runtime.getRuntime().availableProcessors()));
+
+    private final Stripe[] stripes = new Stripe[STRIPES];
+
+    private volatile Snapshot baseline = Snapshot.EMPTY;
+
+    public LatencyHistogram() {
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    public void record(long nanos) {
+        Stripe stripe = stripes[(int) Thread.currentThread().getId() & (STRIPES - 1)];
+        stripe.record(indexOf(nanos), Math.max(0, nanos), currentSlice());
+    }
+
+    /**
+     * @return the timings recorded since the last reset
+     */
+    public Snapshot getTotal() {
+        return mergeTotals().minus(baseline);
+    }
+
+    /**
+     * @return every timing recorded, ignoring resets (ie for exporting as monotonic counters)
+     */
+    public Snapshot getLifetime() {
+        return mergeTotals();
+    }
+
+    /**
+     * @return the timings recorded within the current minute plus the given number of preceding minutes
+     */
+    public Snapshot getWindow(int minutes) {
+        long now = currentSlice();
+        long oldest = now - Math.max(0, Math.min(MAX_WINDOW_MINUTES, minutes));
+        long[] counts = new long[BUCKETS];
+        long sum = 0L;
+        for (Stripe stripe : stripes) {
+            for (Counts slice : stripe.slices) {
+                long epoch = slice.epoch;
+                if (epoch >= oldest && epoch <= now) {
+                    sum += slice.mergeInto(counts);
+                }
+            }
+        }
+        return new Snapshot(counts, sum);
+    }
+
+    /**
+     * Resets the running totals. Recording threads are not interrupted, instead the current totals become the
+     * baseline that subsequent reads are measured from. Rolling windows are unaffected.
+     */
+    public void reset() {
+        baseline = mergeTotals();
+    }
+
+    private Snapshot mergeTotals() {
+        long[] counts = new long[BUCKETS];
+        long sum = 0L;
+        for (Stripe stripe : stripes) {
+            sum += stripe.total.mergeInto(counts);
+        }
+        return new Snapshot(counts, sum);
+    }
+
+    private static long currentSlice() {
+        return System.currentTimeMillis() / SLICE_MS;
+    }
+
+    private static int indexOf(long value) {
+        if (value < SUB_COUNT) {
+            return (int) Math.max(0, value);
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        if (exponent > MAX_EXPONENT) {
+            return BUCKETS - 1;
+        }
+        int sub = (int) (value >>> (exponent - SUB_BITS)) & (SUB_COUNT - 1);
+        return (exponent - SUB_BITS + 1) * SUB_COUNT + sub;
+    }
+
+    private static long lowerBound(int index) {
+        if (index < SUB_COUNT) {
+            return index;
+        }
+        int exponent = (index / SUB_COUNT) + SUB_BITS - 1;
+        int sub = index & (SUB_COUNT - 1);
+        return (long) (SUB_COUNT + sub) << (exponent - SUB_BITS);
+    }
+
+    private static long upperBound(int index) {
+        if (index + 1 >= BUCKETS) {
+            return lowerBound(index);
+        }
+        return lowerBound(index + 1) - 1;
+    }
+
+    private static class Stripe {
+
+        private final Counts total = new Counts();
+        private final Counts[] slices = new Counts[SLICES];
+
+        private Stripe() {
+            for (int i = 0; i < slices.length; i++) {
+                slices[i] = new Counts();
+            }
+        }
+
+        private void record(int index, long value, long epoch) {
+            total.add(index, value);
+
+            Counts slice = slices[(int) (epoch % SLICES)];
+            if (slice.epoch != epoch) {
+                synchronized (slice) {
+                    if (slice.epoch != epoch) {
+                        slice.clear();
+                        slice.epoch = epoch;
+                    }
+                }
+            }
+            // a thread racing the roll-over may land a value in the new minute, which is fine for a rolling window
+            slice.add(index, value);
+        }
+    }
+
+    private static class Counts {
+
+        private final AtomicLong sum = new AtomicLong();
+        private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+        private volatile long epoch = -1L;
+
+        private void add(int index, long value) {
+            counts.incrementAndGet(index);
+            sum.addAndGet(value);
+        }
+
+        private void clear() {
+            for (int i = 0; i < BUCKETS; i++) {
+                counts.set(i, 0L);
+            }
+            sum.set(0L);
+        }
+
+        private long mergeInto(long[] into) {
+            for (int i = 0; i < BUCKETS; i++) {
+                into[i] += counts.get(i);
+            }
+            return sum.get();
+        }
+    }
+
+    public static class Snapshot {
+
+        private static final Snapshot EMPTY = new Snapshot(new long[BUCKETS], 0L);
+
+        private final long[] counts;
+        private final long count;
+        private final long sum;
+
+        private Snapshot(long[] counts, long sum) {
+            long count = 0L;
+            for (long c : counts) {
+                count += c;
+            }
+            this.counts = counts;
+            this.count = count;
+            this.sum = sum;
+        }
+
+        public long count() {
+            return count;
+        }
+
+        public long totalNanos() {
+            return sum;
+        }
+
+        public double meanNanos() {
+            return count == 0 ? 0.0 : sum / (double) count;
+        }
+
+        public long minNanos() {
+            for (int i = 0; i < BUCKETS; i++) {
+                if (counts[i] > 0) {
+                    return lowerBound(i);
+                }
+            }
+            return 0L;
+        }
+
+        public long maxNanos() {
+            for (int i = BUCKETS - 1; i >= 0; i--) {
+                if (counts[i] > 0) {
+                    return upperBound(i);
+                }
+            }
+            return 0L;
+        }
+
+        /**
+         * @param percentile the percentile in the range 0-100
+         * @return the upper bound of the bucket containing the given percentile
+         */
+        public long percentileNanos(double percentile) {
+            if (count == 0) {
+                return 0L;
+            }
+
+            long target = Math.max(1L, (long) Math.ceil(count * Math.min(100.0, percentile) / 100.0));
+            long seen = 0L;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += counts[i];
+                if (seen >= target) {
+                    return upperBound(i);
+                }
+            }
+            return maxNanos();
+        }
+
+        private Snapshot minus(Snapshot other) {
+            if (other == EMPTY) {
+                return this;
+            }
+            long[] result = new long[BUCKETS];
+            for (int i = 0; i < BUCKETS; i++) {
+                result[i] = Math.max(0L, counts[i] - other.counts[i]);
+            }
+            return new Snapshot(result, Math.max(0L, sum - other.sum));
+        }
+    }
+}
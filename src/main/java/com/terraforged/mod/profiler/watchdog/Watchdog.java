@@ -30,17 +30,20 @@ import com.terraforged.mod.config.ConfigManager;
 import com.terraforged.mod.profiler.Profiler;
 import com.terraforged.mod.profiler.crash.CrashHandler;
 import com.terraforged.mod.profiler.crash.WorldGenException;
+import com.terraforged.mod.profiler.metrics.WorldGenMetrics;
 import net.minecraft.world.chunk.IChunk;
 
 public class Watchdog implements Runnable {
 
     public static final String FEATURE_WARN_KEY = "feature_warn_time";
     public static final String CHUNK_TIMEOUT_KEY = "chunkgen_timeout";
+    public static final String STACK_SAMPLE_KEY = "feature_stack_samples";
 
     private static final long WARN_TIME = 50;
     private static final long CRASH_TIME = 30_000L;
     private static final long MIN_CRASH_TIME = 5_000L;
     private static final long CHECK_INTERVAL = 5_251L;
+    private static final long MIN_SAMPLE_INTERVAL = 25L;
 
     private static final Watchdog INSTANCE = new Watchdog();
 
@@ -50,6 +53,11 @@ public class Watchdog implements Runnable {
 
     static {
         ThreadPools.scheduleFixed(INSTANCE, CHECK_INTERVAL);
+
+        long warnTime = getStackSampleWarnTime();
+        if (warnTime > 0) {
+            ThreadPools.scheduleFixed(() -> INSTANCE.sample(warnTime), Math.max(MIN_SAMPLE_INTERVAL, warnTime / 2));
+        }
     }
 
     @Override
@@ -63,6 +71,7 @@ public class Watchdog implements Runnable {
                 }
             }
         } catch (ChunkTimeoutException e) {
+            WorldGenMetrics.onTimeout();
             e.printStackTrace();
             CrashHandler.handle(e.getChunk(), e.getGenerator(), new WorldGenException(Profiler.DECORATION, e));
         } catch (Throwable t) {
@@ -70,6 +79,20 @@ public class Watchdog implements Runnable {
         }
     }
 
+    private void sample(long warnTime) {
+        try {
+            WatchdogContext[] queue = contextQueue.get();
+            if (queue.length > 0) {
+                long now = System.currentTimeMillis();
+                for (WatchdogContext context : queue) {
+                    context.sample(now, warnTime);
+                }
+            }
+        } catch (Throwable t) {
+            t.printStackTrace();
+        }
+    }
+
     public static WatchdogContext punchIn(IChunk chunk, TFChunkGenerator generator, long duration) {
         if (duration > 0) {
             WatchdogContext context = INSTANCE.contextPool.get();
@@ -92,6 +115,16 @@ public class Watchdog implements Runnable {
         return Math.max(time, MIN_CRASH_TIME);
     }
 
+    /**
+     * Returns the feature warn time if stack sampling is enabled, otherwise -1
+     */
+    public static long getStackSampleWarnTime() {
+        if (!ConfigManager.GENERAL.load().getBool(STACK_SAMPLE_KEY, false)) {
+            return -1L;
+        }
+        return ConfigManager.GENERAL.getLong(FEATURE_WARN_KEY, WARN_TIME);
+    }
+
     protected static void addContext(WatchdogContext context) {
         INSTANCE.contextQueue.add(context);
     }
@@ -36,6 +36,11 @@ public interface WatchdogContext extends SafeCloseable {
 
         }
 
+        @Override
+        public void sample(long now, long warnTime) {
+
+        }
+
         @Override
         public boolean set(IChunk chunk, TFChunkGenerator generator, long duration) {
             return false;
@@ -64,6 +69,8 @@ public interface WatchdogContext extends SafeCloseable {
 
     void check(long now);
 
+    void sample(long now, long warnTime);
+
     boolean set(IChunk chunk, TFChunkGenerator generator, long duration);
 
     void pushPhase(String phase);
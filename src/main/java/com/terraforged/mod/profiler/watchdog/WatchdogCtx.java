@@ -24,52 +24,50 @@
 
 package com.terraforged.mod.profiler.watchdog;
 
+import com.terraforged.mod.Log;
 import com.terraforged.mod.chunk.TFChunkGenerator;
 import com.terraforged.mod.profiler.timings.TimingStack;
 import com.terraforged.mod.profiler.timings.Top3TimingStack;
 import net.minecraft.world.chunk.IChunk;
 
-import java.util.concurrent.locks.StampedLock;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
+/**
+ * Lock-free watchdog context. The owning worker thread publishes its current session and item as immutable
+ * records, so the watchdog always reads a consistent phase/identifier/timestamp without the worker having to
+ * acquire a lock for every feature & structure it generates.
+ */
 class WatchdogCtx implements WatchdogContext {
 
-    protected static final ContextQueue QUEUE = new ContextQueue();
+    private static final int MAX_STACK_DEPTH = 32;
+    private static final AtomicReferenceFieldUpdater<WatchdogCtx, Item> ITEM = AtomicReferenceFieldUpdater.newUpdater(
+            WatchdogCtx.class,
+            Item.class,
+            "item"
+    );
 
-    private String phase = "";
-    private IChunk chunk = null;
-    private Object identifier = null;
-    private TFChunkGenerator generator = null;
+    protected static final ContextQueue QUEUE = new ContextQueue();
 
-    private long start = 0L;
-    private long timeout = 0L;
-    private long itemStart = 0L;
-    private Thread thread = null;
-    private final StampedLock lock = new StampedLock();
+    // written by the worker thread only
+    private volatile Session session = null;
+    private volatile Item item = Item.NONE;
     private final TimingStack stack = new Top3TimingStack();
 
+    // accessed by the sampling thread only
+    private Item sampled = null;
+
     protected WatchdogCtx() {
         Watchdog.addContext(this);
     }
 
     @Override
     public void pushPhase(String phase) {
-        long stamp = lock.writeLock();
-        try {
-            this.phase = phase;
-        } finally {
-            lock.unlockWrite(stamp);
-        }
+        ITEM.lazySet(this, new Item(phase, null, 0L));
     }
 
     @Override
     public void pushIdentifier(Object identifier, long timeStamp) {
-        long stamp = lock.writeLock();
-        try {
-            this.identifier = identifier;
-            this.itemStart = timeStamp;
-        } finally {
-            lock.unlockWrite(stamp);
-        }
+        ITEM.lazySet(this, new Item(item.phase, identifier, timeStamp));
     }
 
     @Override
@@ -79,103 +77,115 @@ class WatchdogCtx implements WatchdogContext {
 
     @Override
     public void close() {
-        long read = lock.tryOptimisticRead();
-        boolean closed = thread == null;
-        if (lock.validate(read) && closed) {
+        if (session == null) {
             return;
         }
-
-        long stamp = lock.writeLock();
-        try {
-            phase = "";
-            start = 0L;
-            timeout = 0L;
-            itemStart = 0L;
-            chunk = null;
-            thread = null;
-            generator = null;
-            identifier = null;
-        } finally {
-            lock.unlockWrite(stamp);
-        }
+        session = null;
+        ITEM.lazySet(this, Item.NONE);
     }
 
     @Override
     public boolean set(IChunk chunk, TFChunkGenerator generator, long duration) {
-        long stamp = lock.writeLock();
-        try {
-            if (thread != null) {
-                return false;
-            }
-            long now = System.currentTimeMillis();
-            this.phase = "Start";
-            this.start = now;
-            this.chunk = chunk;
-            this.identifier = null;
-            this.generator = generator;
-            this.timeout = now + duration;
-            this.itemStart = 0L;
-            this.thread = Thread.currentThread();
-            this.stack.reset();
-            return true;
-        } finally {
-            lock.unlockWrite(stamp);
+        if (session != null) {
+            return false;
         }
+        long now = System.currentTimeMillis();
+        stack.reset();
+        ITEM.lazySet(this, Item.START);
+        // publishing the session last makes the reset item & stack visible to the watchdog
+        session = new Session(chunk, generator, Thread.currentThread(), now, now + duration);
+        return true;
     }
 
     @Override
     public void check(long now) throws ChunkTimeoutException {
-        if (optimisticCheck(now)) {
+        Session session = this.session;
+        if (session == null || now <= session.timeout) {
             return;
         }
-        // fall back to a full read lock if optimistic failed
-        lockedCheck(now);
-    }
 
-    /**
-     * Attempts to optimistically perform a deadlock check.
-     * This has slightly less overhead than simply acquiring the read lock.
-     *
-     * Returns false if data was invalidated after read
-     * Returns true if data was validated after read & no deadlock detected
-     * Throws a DeadlockException if the data was valid & a deadlock was detected
-     */
-    private boolean optimisticCheck(long now) throws ChunkTimeoutException {
-        long stamp = lock.tryOptimisticRead();
-        ChunkTimeoutException deadlock = getDeadlock(now);
-        if (lock.validate(stamp)) {
-            if (deadlock == null) {
-                return true;
-            }
-            throw deadlock;
+        Item item = this.item;
+
+        // the chunk completed (and possibly a new one started) whilst reading the item
+        if (this.session != session) {
+            return;
         }
-        return false;
+
+        long totalTime = now - session.start;
+        long itemTime = now - item.start;
+        throw new ChunkTimeoutException(item.phase, item.identifier, totalTime, itemTime, stack.copy(), session.chunk, session.generator, session.thread);
     }
 
-    private void lockedCheck(long now) throws ChunkTimeoutException {
-        long stamp = lock.readLock();
-        try {
-            ChunkTimeoutException deadlock = getDeadlock(now);
-            if (deadlock == null) {
-                return;
-            }
-            throw deadlock;
-        } finally {
-            lock.unlockRead(stamp);
+    @Override
+    public void sample(long now, long warnTime) {
+        Session session = this.session;
+        if (session == null) {
+            return;
+        }
+
+        Item item = this.item;
+        if (item == sampled || item.identifier == null || item.start == 0L) {
+            return;
+        }
+
+        long itemTime = now - item.start;
+        if (itemTime <= warnTime) {
+            return;
         }
+
+        StackTraceElement[] trace = session.thread.getStackTrace();
+
+        // the item finished whilst capturing the trace so it no longer describes the slow item
+        if (this.item != item) {
+            return;
+        }
+
+        sampled = item;
+        Log.warn("{} has been generating for over {}ms on thread {}: {}{}", item.phase, itemTime, session.thread.getName(), item.identifier, toString(trace));
     }
 
-    private ChunkTimeoutException getDeadlock(long now) {
-        if (thread == null) {
-            return null;
+    private static String toString(StackTraceElement[] trace) {
+        int depth = Math.min(trace.length, MAX_STACK_DEPTH);
+        StringBuilder sb = new StringBuilder(depth * 64);
+        for (int i = 0; i < depth; i++) {
+            sb.append("\n\tat ").append(trace[i]);
+        }
+        if (depth < trace.length) {
+            sb.append("\n\t... ").append(trace.length - depth).append(" more");
         }
+        return sb.toString();
+    }
+
+    private static class Session {
 
-        if (timeout == 0L || now <= timeout) {
-            return null;
+        private final IChunk chunk;
+        private final TFChunkGenerator generator;
+        private final Thread thread;
+        private final long start;
+        private final long timeout;
+
+        private Session(IChunk chunk, TFChunkGenerator generator, Thread thread, long start, long timeout) {
+            this.chunk = chunk;
+            this.generator = generator;
+            this.thread = thread;
+            this.start = start;
+            this.timeout = timeout;
         }
+    }
+
+    private static class Item {
 
-        long totalTime = now - start;
-        long itemTime = now - itemStart;
-        return new ChunkTimeoutException(phase, identifier, totalTime, itemTime, stack.copy(), chunk, generator, thread);
+        private static final Item NONE = new Item("", null, 0L);
+        private static final Item START = new Item("Start", null, 0L);
+
+        private final String phase;
+        private final Object identifier;
+        private final long start;
+
+        private Item(String phase, Object identifier, long start) {
+            this.phase = phase;
+            this.identifier = identifier;
+            this.start = start;
+        }
     }
 }
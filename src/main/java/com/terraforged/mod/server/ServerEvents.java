@@ -26,11 +26,15 @@ package com.terraforged.mod.server;
 
 import com.terraforged.mod.Log;
 import com.terraforged.mod.TerraForgedMod;
+import com.terraforged.mod.chunk.TilePrefetcher;
+import com.terraforged.mod.config.PerfTuner;
 import com.terraforged.mod.featuremanager.data.FolderDataPackFinder;
 import com.terraforged.mod.profiler.Profiler;
+import com.terraforged.mod.profiler.metrics.MetricsExporter;
 import net.minecraft.resources.ResourcePackList;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.event.server.FMLServerStartedEvent;
 import net.minecraftforge.fml.event.server.FMLServerStoppedEvent;
 
 import java.io.File;
@@ -38,10 +42,18 @@ import java.io.File;
 @Mod.EventBusSubscriber(bus = Mod.EventBusSubscriber.Bus.FORGE)
 public class ServerEvents {
 
+    @SubscribeEvent
+    public static void serverStarted(FMLServerStartedEvent event) {
+        MetricsExporter.start(event.getServer().getFile("dumps"));
+    }
+
     @SubscribeEvent
     public static void serverStop(FMLServerStoppedEvent event) {
         File dir = event.getServer().getFile("dumps");
         Profiler.dump(dir);
+        PerfTuner.onServerStopped();
+        MetricsExporter.stop();
+        TilePrefetcher.reset();
     }
 
     public static void addPackFinder(ResourcePackList packList) {
@@ -24,8 +24,10 @@
 
 package com.terraforged.mod.server.command;
 
+import com.electronwill.nightconfig.core.CommentedConfig;
 import com.mojang.brigadier.Command;
 import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.arguments.IntegerArgumentType;
 import com.mojang.brigadier.arguments.StringArgumentType;
 import com.mojang.brigadier.builder.LiteralArgumentBuilder;
 import com.mojang.brigadier.context.CommandContext;
@@ -41,12 +43,18 @@ import com.terraforged.mod.chunk.TFChunkGenerator;
 import com.terraforged.mod.chunk.TerraContext;
 import com.terraforged.mod.chunk.settings.preset.Preset;
 import com.terraforged.mod.chunk.settings.preset.PresetManager;
+import com.terraforged.mod.config.ConfigManager;
+import com.terraforged.mod.config.PerfTuner;
 import com.terraforged.mod.data.DataGen;
+import com.terraforged.mod.featuremanager.util.RegistryInstance;
+import com.terraforged.mod.profiler.FeatureCosts;
 import com.terraforged.mod.profiler.Profiler;
+import com.terraforged.mod.profiler.timings.LatencyHistogram;
 import com.terraforged.mod.server.command.arg.TerrainArgType;
 import com.terraforged.mod.server.command.search.BiomeSearchTask;
 import com.terraforged.mod.server.command.search.BothSearchTask;
 import com.terraforged.mod.server.command.search.Search;
+import com.terraforged.mod.server.command.search.SearchScheduler;
 import com.terraforged.mod.server.command.search.TerrainSearchTask;
 import net.minecraft.command.CommandSource;
 import net.minecraft.command.Commands;
@@ -74,16 +82,19 @@ import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.common.Mod;
 
 import javax.annotation.Nullable;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.*;
-import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.function.BiFunction;
-import java.util.function.Supplier;
+import java.util.function.Function;
 
 @Mod.EventBusSubscriber(bus = Mod.EventBusSubscriber.Bus.FORGE)
 public class TerraCommand {
     private static final TextFormatting TITLE_FORMAT = TextFormatting.ITALIC;
     private static final TextFormatting SECONDARY_FORMAT = TextFormatting.YELLOW;
     private static final TextFormatting PREFIX_FORMAT = TextFormatting.GOLD;
+    private static final int FEATURE_COST_ROWS = 10;
     private static final Map<UUID, Integer> SEARCH_IDS = Collections.synchronizedMap(new HashMap<>());
     private static final BiFunction<UUID, Integer, Integer> INCREMENTER = (k, v) -> v == null ? 0 : v + 1;
 
@@ -108,7 +119,19 @@ public class TerraCommand {
                         .then(Commands.literal("reset")
                                 .executes(TerraCommand::benchmarkStart))
                         .then(Commands.literal("stats")
-                                .executes(TerraCommand::benchmarkStats)))
+                                .executes(TerraCommand::benchmarkStats)
+                                .then(Commands.argument("minutes", IntegerArgumentType.integer(0, LatencyHistogram.MAX_WINDOW_MINUTES))
+                                        .executes(TerraCommand::benchmarkWindowStats)))
+                        .then(Commands.literal("features")
+                                .executes(TerraCommand::benchmarkFeatures)
+                                .then(Commands.literal("start")
+                                        .executes(context -> setFeatureCostsEnabled(context, true)))
+                                .then(Commands.literal("stop")
+                                        .executes(context -> setFeatureCostsEnabled(context, false)))
+                                .then(Commands.literal("dump")
+                                        .executes(TerraCommand::dumpFeatureCosts)))
+                        .then(Commands.literal("tiles")
+                                .executes(TerraCommand::benchmarkTiles)))
                 .then(Commands.literal("query")
                         .executes(TerraCommand::query))
                 .then(Commands.literal("data")
@@ -121,6 +144,10 @@ public class TerraCommand {
                 .then(Commands.literal("debug")
                         .executes(TerraCommand::debugBiome))
                 .then(Commands.literal("locate")
+                        .then(Commands.literal("cancel")
+                                .executes(TerraCommand::cancelSearch))
+                        .then(Commands.literal("progress")
+                                .executes(TerraCommand::searchProgress))
                         .then(Commands.literal("biome")
                                 .then(Commands.argument("biome", ResourceLocationArgument.resourceLocation())
                                         .suggests(SuggestionProviders.field_239574_d_)
@@ -155,20 +182,32 @@ public class TerraCommand {
 
     private static int benchmarkStart(CommandContext<CommandSource> context) throws CommandSyntaxException {
         Profiler.reset();
+        FeatureCosts.resetAll();
+        PerfTuner.reset();
         context.getSource().sendFeedback(createText("Reset profiler"), false);
         return Command.SINGLE_SUCCESS;
     }
 
     private static int benchmarkStats(CommandContext<CommandSource> context) throws CommandSyntaxException {
+        return benchmarkStats(context, Profiler::getStats);
+    }
+
+    private static int benchmarkWindowStats(CommandContext<CommandSource> context) throws CommandSyntaxException {
+        int minutes = IntegerArgumentType.getInteger(context, "minutes");
+        return benchmarkStats(context, profiler -> profiler.getStats(minutes));
+    }
+
+    private static int benchmarkStats(CommandContext<CommandSource> context, Function<Profiler, LatencyHistogram.Snapshot> getter) {
         long fastest = 0L;
         long slowest = 0L;
         double average = 0.0;
 
         for (Profiler profiler : Profiler.values()) {
-            average += profiler.averageMS();
-            slowest += profiler.maxMS();
-            fastest += profiler.minMS();
-            context.getSource().sendFeedback(profiler.toText(), false);
+            LatencyHistogram.Snapshot stats = getter.apply(profiler);
+            average += Profiler.toMS(stats.meanNanos());
+            slowest += TimeUnit.NANOSECONDS.toMillis(stats.maxNanos());
+            fastest += TimeUnit.NANOSECONDS.toMillis(stats.minNanos());
+            context.getSource().sendFeedback(profiler.toText(stats), false);
         }
 
         long min = fastest;
@@ -180,6 +219,70 @@ public class TerraCommand {
         return Command.SINGLE_SUCCESS;
     }
 
+    private static int benchmarkFeatures(CommandContext<CommandSource> context) throws CommandSyntaxException {
+        List<FeatureCosts.Summary> costs = FeatureCosts.summarizeAll();
+        if (costs.isEmpty()) {
+            if (FeatureCosts.isEnabled()) {
+                context.getSource().sendFeedback(createText("No features have been recorded"), false);
+            } else {
+                context.getSource().sendFeedback(createText("Feature costs are not being recorded, run: ")
+                        .append(createPrimary("/terra benchmark features start")), false);
+            }
+            return Command.SINGLE_SUCCESS;
+        }
+
+        int count = Math.min(FEATURE_COST_ROWS, costs.size());
+        context.getSource().sendFeedback(createText(String.format("Top %s features & structures by total time:", count), PREFIX_FORMAT), false);
+
+        for (int i = 0; i < count; i++) {
+            FeatureCosts.Summary cost = costs.get(i);
+            String stats = String.format("Calls: %s, Placements: %s, Mean: %.3fms", cost.getCalls(), cost.getPlacements(), cost.getMeanMS());
+            context.getSource().sendFeedback(createText(cost.getType() + " " + cost.getIdentity(), SECONDARY_FORMAT)
+                    .append(new StringTextComponent(String.format(": %.3fms", cost.getTotalMS()))
+                            .modifyStyle(style -> style.forceFormatting(TextFormatting.WHITE)))
+                    .modifyStyle(style -> style.setHoverEvent(new HoverEvent(HoverEvent.Action.SHOW_TEXT, new StringTextComponent(stats)))), false);
+        }
+
+        return Command.SINGLE_SUCCESS;
+    }
+
+    private static int setFeatureCostsEnabled(CommandContext<CommandSource> context, boolean enabled) {
+        FeatureCosts.setEnabled(enabled);
+        context.getSource().sendFeedback(createText(enabled ? "Started recording feature costs" : "Stopped recording feature costs"), false);
+        return Command.SINGLE_SUCCESS;
+    }
+
+    private static int dumpFeatureCosts(CommandContext<CommandSource> context) throws CommandSyntaxException {
+        RegistryInstance<Biome> biomes = getContext(context).biomeContext.biomes;
+        try {
+            Path file = FeatureCosts.dump(context.getSource().getServer().getFile("dumps").toPath(), biome -> biomes.getName(biome));
+            context.getSource().sendFeedback(createText("Exported feature costs to: ").append(createPrimary(file.getFileName())), false);
+        } catch (IOException e) {
+            Log.err("Failed to export feature costs", e);
+            context.getSource().sendErrorMessage(new StringTextComponent("Failed to export feature costs"));
+        }
+        return Command.SINGLE_SUCCESS;
+    }
+
+    private static int benchmarkTiles(CommandContext<CommandSource> context) throws CommandSyntaxException {
+        CommentedConfig config = ConfigManager.PERFORMANCE.get();
+        PerfTuner.Stats stats = PerfTuner.getStats();
+        PerfTuner.Recommendation recommendation = PerfTuner.recommend(stats, config);
+
+        context.getSource().sendFeedback(createText("Tile Cache", PREFIX_FORMAT)
+                .appendString(": " + stats), false);
+
+        if (recommendation.isChanged(config)) {
+            String mode = PerfTuner.isAdaptive() ? "Applying on stop" : "Recommended";
+            context.getSource().sendFeedback(createText(mode, SECONDARY_FORMAT)
+                    .appendString(": " + recommendation), false);
+        } else {
+            context.getSource().sendFeedback(createText("Current performance settings look good"), false);
+        }
+
+        return Command.SINGLE_SUCCESS;
+    }
+
     private static int dump(CommandContext<CommandSource> context) throws CommandSyntaxException {
         getContext(context);
 
@@ -269,7 +372,7 @@ public class TerraCommand {
         WorldGenerator generator = terraContext.worldGenerator.get().get();
         Search biomeSearch = new BiomeSearchTask(pos, biome, getChunkGenerator(context), getBiomeProvider(context));
         Search terrainSearch = new TerrainSearchTask(pos, target, getChunkGenerator(context), generator);
-        Search search = new BothSearchTask(pos, biomeSearch, terrainSearch);
+        Search search = new BothSearchTask(biomeSearch.getCenter(), biomeSearch, terrainSearch);
         int identifier = doSearch(server, playerID, search);
         context.getSource().sendFeedback(createPrefix(identifier)
                 .append(new StringTextComponent(" Searching for "))
@@ -280,9 +383,31 @@ public class TerraCommand {
         return Command.SINGLE_SUCCESS;
     }
 
-    private static int doSearch(MinecraftServer server, UUID userId, Supplier<BlockPos> supplier) {
+    private static int cancelSearch(CommandContext<CommandSource> context) throws CommandSyntaxException {
+        UUID playerID = context.getSource().asPlayer().getUniqueID();
+        if (SearchScheduler.cancel(playerID)) {
+            context.getSource().sendFeedback(createText("Cancelled search"), false);
+        } else {
+            context.getSource().sendFeedback(createText("No active search"), false);
+        }
+        return Command.SINGLE_SUCCESS;
+    }
+
+    private static int searchProgress(CommandContext<CommandSource> context) throws CommandSyntaxException {
+        UUID playerID = context.getSource().asPlayer().getUniqueID();
+        float progress = SearchScheduler.getProgress(playerID);
+        if (progress < 0) {
+            context.getSource().sendFeedback(createText("No active search"), false);
+        } else {
+            context.getSource().sendFeedback(createPrefix(SEARCH_IDS.getOrDefault(playerID, 0))
+                    .append(new StringTextComponent(String.format(" Searched %.1f%% of the search area", progress * 100F))), false);
+        }
+        return Command.SINGLE_SUCCESS;
+    }
+
+    private static int doSearch(MinecraftServer server, UUID userId, Search search) {
         int identifier = SEARCH_IDS.compute(userId, INCREMENTER);
-        CompletableFuture.supplyAsync(supplier).thenAccept(pos -> server.deferTask(() -> {
+        SearchScheduler.submit(userId, search, pos -> server.deferTask(() -> {
             PlayerEntity player = server.getPlayerList().getPlayerByUUID(userId);
             if (player == null) {
                 SEARCH_IDS.remove(userId);
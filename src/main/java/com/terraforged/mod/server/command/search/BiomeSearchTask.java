@@ -25,6 +25,7 @@
 package com.terraforged.mod.server.command.search;
 
 import com.terraforged.engine.cell.Cell;
+import com.terraforged.mod.biome.provider.BiomePresence;
 import com.terraforged.mod.biome.provider.TFBiomeProvider;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.biome.Biome;
@@ -32,28 +33,59 @@ import net.minecraft.world.gen.ChunkGenerator;
 
 public class BiomeSearchTask extends ChunkGeneratorSearch {
 
+    private final int biomeId;
     private final Biome biome;
     private final TFBiomeProvider biomeProvider;
 
     private final Cell cell = new Cell();
 
+    private long lastRegion = Long.MAX_VALUE;
+    private boolean lastPresent = true;
+
+    // the center is aligned to the biome-presence grid so that every probe lands on a summarised position
     public BiomeSearchTask(BlockPos center, Biome biome, ChunkGenerator generator, TFBiomeProvider biomeProvider) {
-        super(center, generator);
+        super(align(center), generator);
         this.biomeProvider = biomeProvider;
         this.biome = biome;
+        this.biomeId = biomeProvider.getContext().biomeContext.biomes.getId(biome);
     }
 
     @Override
     public int getSpacing() {
-        return 10;
+        return BiomePresence.SAMPLE_SPACING;
+    }
+
+    @Override
+    public Search fork() {
+        return new BiomeSearchTask(getCenter(), biome, getChunkGenerator(), biomeProvider);
     }
 
     @Override
     public boolean test(BlockPos pos) {
+        if (!mayContain(pos.getX(), pos.getZ())) {
+            return false;
+        }
         biomeProvider.getWorldLookup().applyCell(cell, pos.getX(), pos.getZ());
         if (biomeProvider.getBiome(cell, pos.getX(), pos.getZ()) == biome) {
             return biomeProvider.getBiome(pos.getX(), pos.getZ()) == biome;
         }
         return false;
     }
+
+    private boolean mayContain(int x, int z) {
+        // positions off the summary's grid can't be rejected by it
+        if (!BiomePresence.isSampled(x, z)) {
+            return true;
+        }
+        long region = BiomePresence.regionKey(x, z);
+        if (region != lastRegion) {
+            lastRegion = region;
+            lastPresent = biomeProvider.getBiomePresence().mayContain(x, z, biomeId);
+        }
+        return lastPresent;
+    }
+
+    public static BlockPos align(BlockPos pos) {
+        return new BlockPos(BiomePresence.align(pos.getX()), pos.getY(), BiomePresence.align(pos.getZ()));
+    }
 }
@@ -53,4 +53,15 @@ public class BothSearchTask extends Search {
     public BlockPos success(BlockPos.Mutable pos) {
         return a.success(pos);
     }
+
+    @Override
+    public Search fork() {
+        return new BothSearchTask(getCenter(), a.fork(), b.fork());
+    }
+
+    @Override
+    public void close() {
+        a.close();
+        b.close();
+    }
 }
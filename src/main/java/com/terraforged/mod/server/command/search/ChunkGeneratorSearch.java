@@ -46,6 +46,10 @@ public abstract class ChunkGeneratorSearch extends Search {
         this.chunkGenerator = chunkGenerator;
     }
 
+    public ChunkGenerator getChunkGenerator() {
+        return chunkGenerator;
+    }
+
     @Override
     public BlockPos success(BlockPos.Mutable pos) {
         pos.setY(chunkGenerator.getHeight(pos.getX(), pos.getZ(), Heightmap.Type.WORLD_SURFACE_WG));
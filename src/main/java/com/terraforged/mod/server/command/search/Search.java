@@ -34,12 +34,15 @@ public abstract class Search implements Supplier<BlockPos>, SafeCloseable {
 
     protected static final int MIN_RADIUS = 128;
     protected static final int MAX_RADIUS = 24000;
+    protected static final int BATCH_SIZE = 64;
 
     private final BlockPos center;
     private final int minRadius;
     private final int maxRadius;
     private final double minRadius2;
 
+    private volatile boolean cancelled = false;
+
     public Search(BlockPos center) {
         this(center, MIN_RADIUS);
     }
@@ -59,10 +62,30 @@ public abstract class Search implements Supplier<BlockPos>, SafeCloseable {
         return minRadius;
     }
 
+    public int getMaxRadius() {
+        return maxRadius;
+    }
+
+    public BlockPos getCenter() {
+        return center;
+    }
+
     public int getSpacing() {
         return 16;
     }
 
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public boolean isOutsideMinRadius(BlockPos pos) {
+        return minRadius2 == 0 || center.distanceSq(pos) >= minRadius2;
+    }
+
     @Override
     public void close() {
 
@@ -81,18 +104,30 @@ public abstract class Search implements Supplier<BlockPos>, SafeCloseable {
         long timeOut = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(30);
         BlockPos.Mutable pos = new BlockPos.Mutable();
 
+        int count = 0;
+        int[] xs = new int[BATCH_SIZE];
+        int[] zs = new int[BATCH_SIZE];
+
         for (long i = 0; i < max; i++) {
-            if (System.currentTimeMillis() > timeOut) {
-                break;
+            if ((-radius <= x) && (x <= radius) && (-radius <= z) && (z <= radius)) {
+                int px = center.getX() + (x * getSpacing());
+                int pz = center.getZ() + (z * getSpacing());
+                if (isOutsideMinRadius(pos.setPos(px, center.getY(), pz))) {
+                    xs[count] = px;
+                    zs[count] = pz;
+                    count++;
+                }
             }
 
-            if ((-radius <= x) && (x <= radius) && (-radius <= z) && (z <= radius)) {
-                pos.setPos(center.getX() + (x * getSpacing()), center.getY(), center.getZ() + (z * getSpacing()));
-                if (minRadius2 == 0 || center.distanceSq(pos) >= minRadius2) {
-                    if (test(pos)) {
-                        return success(pos);
-                    }
+            if (count == BATCH_SIZE || (count > 0 && i + 1 == max)) {
+                // check for timeout/cancellation once per batch rather than per position
+                if (cancelled || System.currentTimeMillis() > timeOut) {
+                    break;
+                }
+                if (test(xs, zs, count, pos) != -1) {
+                    return success(pos);
                 }
+                count = 0;
             }
 
             if ((x == z) || ((x < 0) && (x == -z)) || ((x > 0) && (x == 1 - z))) {
@@ -110,6 +145,30 @@ public abstract class Search implements Supplier<BlockPos>, SafeCloseable {
 
     public abstract boolean test(BlockPos pos);
 
+    /**
+     * Tests the first 'count' positions in xs/zs, in order, at the search center's y level.
+     *
+     * Implementations may evaluate the batch in stages (eg to cheaply reject positions before running the full
+     * test) but must report the same match that testing each position in turn would have.
+     *
+     * @return the index of the first matching position (leaving pos set to it), or -1 if none match
+     */
+    public int test(int[] xs, int[] zs, int count, BlockPos.Mutable pos) {
+        for (int i = 0; i < count; i++) {
+            pos.setPos(xs[i], center.getY(), zs[i]);
+            if (test(pos)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Creates an independent copy of this search, with its own mutable state, so that the search area can be
+     * split across multiple worker threads
+     */
+    public abstract Search fork();
+
     public BlockPos success(BlockPos.Mutable pos) {
         return pos.toImmutable();
     }
@@ -0,0 +1,215 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 TerraForged
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.terraforged.mod.server.command.search;
+
+import com.terraforged.mod.util.ExecutorUtils;
+import net.minecraft.util.math.BlockPos;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Runs /terra locate searches on a dedicated, bounded worker pool (rather than the common ForkJoin pool).
+ *
+ * Each search is split across workers ring-by-ring, worker i scanning rings i, i + n, i + 2n etc, so every worker
+ * tests the same positions, in the same order, on every run. The result is the match in the smallest ring (then
+ * lowest index within that ring) so it doesn't depend on which worker finds it first. Starting a new search cancels
+ * the user's previous one.
+ */
+public class SearchScheduler {
+
+    private static final int WORKERS = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    private static final long TIMEOUT = TimeUnit.SECONDS.toMillis(30);
+
+    private static final ForkJoinPool POOL = ExecutorUtils.createBounded("Search", WORKERS);
+    private static final Map<UUID, Job> JOBS = new ConcurrentHashMap<>();
+
+    public static void submit(UUID userId, Search search, Consumer<BlockPos> callback) {
+        Job job = new Job(search);
+        Job previous = JOBS.put(userId, job);
+        if (previous != null) {
+            previous.cancel();
+        }
+
+        job.start().thenAccept(pos -> {
+            JOBS.remove(userId, job);
+            if (!job.isCancelled()) {
+                callback.accept(pos);
+            }
+        });
+    }
+
+    public static boolean cancel(UUID userId) {
+        Job job = JOBS.remove(userId);
+        if (job == null) {
+            return false;
+        }
+        job.cancel();
+        return true;
+    }
+
+    /**
+     * @return the number of searches currently running
+     */
+    public static int getActiveSearches() {
+        return JOBS.size();
+    }
+
+    /**
+     * @return the progress (0-1) of the user's active search, or -1 if they have none
+     */
+    public static float getProgress(UUID userId) {
+        Job job = JOBS.get(userId);
+        if (job == null) {
+            return -1F;
+        }
+        return job.getProgress();
+    }
+
+    private static class Job {
+
+        private final Search search;
+        private final Search[] workers;
+        private final long deadline;
+        private final AtomicInteger ringsDone = new AtomicInteger();
+
+        private volatile boolean cancelled = false;
+        private volatile int bestRing = Integer.MAX_VALUE;
+        private int bestIndex = Integer.MAX_VALUE;
+        private BlockPos best = null;
+
+        private Job(Search search) {
+            this.search = search;
+            this.workers = new Search[WORKERS];
+            this.workers[0] = search;
+            for (int i = 1; i < workers.length; i++) {
+                workers[i] = search.fork();
+            }
+            this.deadline = System.currentTimeMillis() + TIMEOUT;
+        }
+
+        private CompletableFuture<BlockPos> start() {
+            CompletableFuture<?>[] tasks = new CompletableFuture[workers.length];
+            for (int i = 0; i < workers.length; i++) {
+                Search worker = workers[i];
+                int firstRing = i;
+                tasks[i] = CompletableFuture.runAsync(() -> run(worker, firstRing), POOL);
+            }
+            return CompletableFuture.allOf(tasks).handle((v, t) -> complete());
+        }
+
+        private boolean isCancelled() {
+            return cancelled;
+        }
+
+        private void cancel() {
+            cancelled = true;
+            for (Search worker : workers) {
+                worker.cancel();
+            }
+        }
+
+        private float getProgress() {
+            return Math.min(1F, ringsDone.get() / (float) (search.getMaxRadius() + 1));
+        }
+
+        private void run(Search worker, int firstRing) {
+            int maxRadius = search.getMaxRadius();
+            for (int ring = firstRing; !cancelled; ring += workers.length) {
+                if (ring > maxRadius || ring > bestRing) {
+                    return;
+                }
+                if (!scanRing(worker, ring)) {
+                    return;
+                }
+                ringsDone.incrementAndGet();
+            }
+        }
+
+        // returns false if the search timed out or was cancelled
+        private boolean scanRing(Search worker, int ring) {
+            BlockPos center = search.getCenter();
+            BlockPos.Mutable pos = new BlockPos.Mutable();
+
+            int count = 0;
+            int[] xs = new int[Search.BATCH_SIZE];
+            int[] zs = new int[Search.BATCH_SIZE];
+            int[] indices = new int[Search.BATCH_SIZE];
+
+            int size = ring == 0 ? 1 : ring * 8;
+            int side = Math.max(1, ring * 2);
+            for (int i = 0; i < size; i++) {
+                int edge = i / side;
+                int offset = i % side;
+                int x = edge == 0 ? -ring + offset : edge == 1 ? ring : edge == 2 ? ring - offset : -ring;
+                int z = edge == 0 ? -ring : edge == 1 ? -ring + offset : edge == 2 ? ring : ring - offset;
+
+                int px = center.getX() + (x * search.getSpacing());
+                int pz = center.getZ() + (z * search.getSpacing());
+                if (search.isOutsideMinRadius(pos.setPos(px, center.getY(), pz))) {
+                    xs[count] = px;
+                    zs[count] = pz;
+                    indices[count] = i;
+                    count++;
+                }
+
+                if (count == Search.BATCH_SIZE || (count > 0 && i + 1 == size)) {
+                    if (cancelled || System.currentTimeMillis() > deadline) {
+                        return false;
+                    }
+
+                    int match = worker.test(xs, zs, count, pos);
+                    if (match != -1) {
+                        offer(ring, indices[match], worker.success(pos));
+                        return true;
+                    }
+                    count = 0;
+                }
+            }
+            return true;
+        }
+
+        private synchronized void offer(int ring, int index, BlockPos pos) {
+            if (ring < bestRing || (ring == bestRing && index < bestIndex)) {
+                best = pos.toImmutable();
+                bestRing = ring;
+                bestIndex = index;
+            }
+        }
+
+        private synchronized BlockPos complete() {
+            for (Search worker : workers) {
+                worker.close();
+            }
+            return best == null ? search.fail(BlockPos.ZERO) : best;
+        }
+    }
+}
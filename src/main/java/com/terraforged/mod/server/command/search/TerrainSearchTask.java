@@ -41,23 +41,38 @@ public class TerrainSearchTask extends ChunkGeneratorSearch {
 
     private static final ObjectPool<LongSet> CACHE_POOL = new ObjectPool<>(8, () -> new LongOpenHashSet(1024));
 
+    private final Terrain type;
     private final SearchCondition condition;
     private final WorldGenerator worldGenerator;
+    private final long startRegion;
+    // terrain regions known not to match a regional condition, shared by every fork of the search
+    private final LongSet rejected;
+    // terrain regions already tested by this fork, for conditions that aren't regional
+    private final Resource<LongSet> visited;
 
     private final Cell cell = new Cell();
-    private final Resource<LongSet> cache;
+    private final Cell[] cells = new Cell[BATCH_SIZE];
 
     private long result = Long.MAX_VALUE;
 
     public TerrainSearchTask(BlockPos center, Terrain type, ChunkGenerator chunkGenerator, WorldGenerator worldGenerator) {
+        this(center, type, chunkGenerator, worldGenerator, new LongOpenHashSet(1024));
+    }
+
+    private TerrainSearchTask(BlockPos center, Terrain type, ChunkGenerator chunkGenerator, WorldGenerator worldGenerator, LongSet rejected) {
         super(center, 256, chunkGenerator);
+        this.type = type;
         this.worldGenerator = worldGenerator;
         this.condition = TerrainConditions.get(type, worldGenerator.getHeightmap());
-        this.cache = CACHE_POOL.get();
+        this.rejected = rejected;
+        this.visited = CACHE_POOL.get();
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = new Cell();
+        }
 
         // exclude current terrain region
         worldGenerator.getHeightmap().getRegionModule().apply(cell, center.getX(), center.getZ());
-        cache.get().add(cell.terrainRegionCenter);
+        this.startRegion = cell.terrainRegionCenter;
     }
 
     @Override
@@ -65,18 +80,77 @@ public class TerrainSearchTask extends ChunkGeneratorSearch {
         return 20;
     }
 
+    @Override
+    public Search fork() {
+        return new TerrainSearchTask(getCenter(), type, getChunkGenerator(), worldGenerator, rejected);
+    }
+
     @Override
     public boolean test(BlockPos pos) {
         worldGenerator.getHeightmap().getRegionModule().apply(cell, pos.getX(), pos.getZ());
-        // avoid searching same terrain region twice
-        if (cache.get().add(cell.terrainRegionCenter)) {
-            long result = condition.test(cell, pos.getX(), pos.getZ());
+        long result = test(cell, pos.getX(), pos.getZ());
+        if (result != SearchCondition.NO_MATCH) {
+            this.result = result;
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public int test(int[] xs, int[] zs, int count, BlockPos.Mutable pos) {
+        // resolve the terrain region of every position first so that positions falling in an already
+        // rejected region are skipped before any of the (more expensive) terrain conditions are run
+        for (int i = 0; i < count; i++) {
+            worldGenerator.getHeightmap().getRegionModule().apply(cells[i], xs[i], zs[i]);
+        }
+
+        for (int i = 0; i < count; i++) {
+            long result = test(cells[i], xs[i], zs[i]);
             if (result != SearchCondition.NO_MATCH) {
                 this.result = result;
-                return true;
+                pos.setPos(xs[i], getCenter().getY(), zs[i]);
+                return i;
             }
         }
-        return false;
+        return -1;
+    }
+
+    private long test(Cell cell, int x, int z) {
+        long region = cell.terrainRegionCenter;
+        if (region == startRegion) {
+            return SearchCondition.NO_MATCH;
+        }
+
+        // the outcome doesn't depend on the position, so it's safe to share between forks
+        if (condition.isRegional()) {
+            if (isRejected(region)) {
+                return SearchCondition.NO_MATCH;
+            }
+            long result = condition.test(cell, x, z);
+            if (result == SearchCondition.NO_MATCH) {
+                reject(region);
+            }
+            return result;
+        }
+
+        // avoid searching same terrain region twice - each fork scans a fixed set of rings, in order, so the
+        // position it tests a region at is the same every run
+        if (visited.get().add(region)) {
+            return condition.test(cell, x, z);
+        }
+        return SearchCondition.NO_MATCH;
+    }
+
+    private boolean isRejected(long region) {
+        synchronized (rejected) {
+            return rejected.contains(region);
+        }
+    }
+
+    private void reject(long region) {
+        synchronized (rejected) {
+            rejected.add(region);
+        }
     }
 
     @Override
@@ -88,7 +162,7 @@ public class TerrainSearchTask extends ChunkGeneratorSearch {
 
     @Override
     public void close() {
-        cache.get().clear();
-        cache.close();
+        visited.get().clear();
+        visited.close();
     }
 }
@@ -47,4 +47,10 @@ public class ExactTerrainMatch implements SearchCondition {
         }
         return SearchCondition.NO_MATCH;
     }
+
+    @Override
+    public boolean isRegional() {
+        // these terrains are features within a region (rivers, beaches etc) so the result depends on the position
+        return false;
+    }
 }
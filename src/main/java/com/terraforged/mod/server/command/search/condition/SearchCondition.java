@@ -34,6 +34,15 @@ public interface SearchCondition {
 
     long test(Cell cell, int x, int z);
 
+    /**
+     * @return true if the result depends only on the terrain region being tested (eg because it is evaluated at the
+     * region's center), not the position within it, so a region that fails once can be skipped for the rest of the
+     * search
+     */
+    default boolean isRegional() {
+        return true;
+    }
+
     interface Factory {
 
         SearchCondition create(Terrain terrain, Heightmap heightmap);
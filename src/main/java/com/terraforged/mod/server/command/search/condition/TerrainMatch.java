@@ -25,6 +25,7 @@
 package com.terraforged.mod.server.command.search.condition;
 
 import com.terraforged.engine.cell.Cell;
+import com.terraforged.engine.util.pos.PosUtil;
 import com.terraforged.engine.world.heightmap.Heightmap;
 import com.terraforged.engine.world.terrain.Terrain;
 
@@ -40,9 +41,13 @@ public class TerrainMatch implements SearchCondition {
 
     @Override
     public long test(Cell cell, int x, int z) {
-        heightmap.apply(cell, x, z);
+        // test the region's center rather than the given position, which may fall on a coast/river etc within it
+        long region = cell.terrainRegionCenter;
+        int centerX = PosUtil.unpackLeft(region);
+        int centerZ = PosUtil.unpackRight(region);
+        heightmap.apply(cell, centerX, centerZ);
         if (cell.terrain == terrain) {
-            return cell.terrainRegionCenter;
+            return region;
         }
         return SearchCondition.NO_MATCH;
     }
@@ -81,6 +81,11 @@ public class VolcanoMatch implements SearchCondition {
             return 2;
         }
 
+        @Override
+        public Search fork() {
+            return new LocalSearch(new BlockPos.Mutable(center.getX(), center.getY(), center.getZ()), heightmap);
+        }
+
         @Override
         public boolean test(BlockPos pos) {
             heightmap.apply(cell, pos.getX(), pos.getZ());
@@ -56,6 +56,14 @@ public class ExecutorUtils {
         }, ExecutorUtils::printException, true);
     }
 
+    public static ForkJoinPool createBounded(String serviceName, int count) {
+        return new ForkJoinPool(Math.max(1, count), pool -> {
+            ForkJoinWorkerThread thread = createThread(pool);
+            thread.setName("Worker-" + serviceName + "-" + NEXT_SERVER_WORKER_ID.getAndIncrement());
+            return thread;
+        }, ExecutorUtils::printException, true);
+    }
+
     private static ForkJoinWorkerThread createThread(ForkJoinPool pool) {
         return new ForkJoinWorkerThread(pool) {
             @Override